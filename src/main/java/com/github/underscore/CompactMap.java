@@ -0,0 +1,363 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+    private static final Object REMOVED = new Object();
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashIndex;
+    private int size;
+    private int used;
+    private int modCount;
+
+    public CompactMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompactMap(int initialCapacity) {
+        keys = new Object[Math.max(1, initialCapacity)];
+        values = new Object[keys.length];
+    }
+
+    public CompactMap(Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) != -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        final int position = indexOf(key);
+        return position == -1 ? null : (V) values[position];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        final int position = indexOf(key);
+        if (position != -1) {
+            final V oldValue = (V) values[position];
+            values[position] = value;
+            return oldValue;
+        }
+        if (used == keys.length) {
+            if (size < used) {
+                compact();
+            } else {
+                keys = Arrays.copyOf(keys, used * 2);
+                values = Arrays.copyOf(values, used * 2);
+            }
+        }
+        keys[used] = key;
+        values[used] = value;
+        used++;
+        size++;
+        modCount++;
+        if (hashIndex != null) {
+            if (size * 2 > hashIndex.length) {
+                rebuildIndex();
+            } else {
+                addToIndex(used - 1);
+            }
+        } else if (size > LINEAR_SEARCH_LIMIT) {
+            rebuildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        final int position = indexOf(key);
+        if (position == -1) {
+            return null;
+        }
+        final V oldValue = (V) values[position];
+        removeAt(position);
+        if (size * 2 < used) {
+            compact();
+        }
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        size = 0;
+        used = 0;
+        hashIndex = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (hashIndex == null) {
+            for (int position = 0; position < used; position++) {
+                if (Objects.equals(keys[position], key)) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+        final int mask = hashIndex.length - 1;
+        int slot = hash(key) & mask;
+        while (hashIndex[slot] != 0) {
+            final int position = hashIndex[slot] - 1;
+            if (Objects.equals(keys[position], key)) {
+                return position;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int position) {
+        if (hashIndex != null) {
+            removeFromIndex(position);
+        }
+        keys[position] = REMOVED;
+        values[position] = null;
+        size--;
+        modCount++;
+        while (used > 0 && keys[used - 1] == REMOVED) {
+            used--;
+            keys[used] = null;
+        }
+        if (hashIndex != null && used <= LINEAR_SEARCH_LIMIT) {
+            hashIndex = null;
+        }
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int position = 0; position < used; position++) {
+            if (keys[position] != REMOVED) {
+                keys[target] = keys[position];
+                values[target] = values[position];
+                target++;
+            }
+        }
+        Arrays.fill(keys, target, used, null);
+        Arrays.fill(values, target, used, null);
+        used = target;
+        modCount++;
+        if (hashIndex != null) {
+            if (used > LINEAR_SEARCH_LIMIT) {
+                rebuildIndex();
+            } else {
+                hashIndex = null;
+            }
+        }
+    }
+
+    private void rebuildIndex() {
+        hashIndex = new int[Integer.highestOneBit(size * 4)];
+        for (int position = 0; position < used; position++) {
+            if (keys[position] != REMOVED) {
+                addToIndex(position);
+            }
+        }
+    }
+
+    private void addToIndex(int position) {
+        final int mask = hashIndex.length - 1;
+        int slot = hash(keys[position]) & mask;
+        while (hashIndex[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashIndex[slot] = position + 1;
+    }
+
+    private void removeFromIndex(int position) {
+        final int mask = hashIndex.length - 1;
+        int hole = hash(keys[position]) & mask;
+        while (hashIndex[hole] != position + 1) {
+            hole = (hole + 1) & mask;
+        }
+        for (int slot = (hole + 1) & mask; hashIndex[slot] != 0; slot = (slot + 1) & mask) {
+            final int home = hash(keys[hashIndex[slot] - 1]) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                hashIndex[hole] = hashIndex[slot];
+                hole = slot;
+            }
+        }
+        hashIndex[hole] = 0;
+    }
+
+    private static int hash(Object key) {
+        final int hash = Objects.hashCode(key) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            while (next < used && keys[next] == REMOVED) {
+                next++;
+            }
+            return next < used;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private class Entry implements Map.Entry<K, V> {
+        private final K key;
+        private V value;
+        private int position;
+        private int expectedModCount;
+
+        @SuppressWarnings("unchecked")
+        Entry(int position) {
+            this.key = (K) keys[position];
+            this.value = (V) values[position];
+            this.position = position;
+            this.expectedModCount = modCount;
+        }
+
+        private int position() {
+            if (expectedModCount != modCount) {
+                position = indexOf(key);
+                expectedModCount = modCount;
+            }
+            return position;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            final int current = position();
+            if (current != -1) {
+                value = (V) values[current];
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(V newValue) {
+            final V oldValue = getValue();
+            final int current = position();
+            if (current != -1) {
+                values[current] = newValue;
+            }
+            value = newValue;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Map.Entry)) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            return Objects.equals(getKey(), entry.getKey())
+                    && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -23,21 +23,88 @@
  */
 package com.github.underscore;
 
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings({"java:S3740", "java:S3776"})
 public final class Json {
     private static final int PARSE_MAX_DEPTH = 10_000;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<JsonParser> PARSERS =
+            ThreadLocal.withInitial(() -> new JsonParser("", PARSE_MAX_DEPTH));
+    private static final ThreadLocal<JsonStringBuilder[]> BUILDERS =
+            ThreadLocal.withInitial(() -> new JsonStringBuilder[1]);
 
     private Json() {}
 
     private static final String NULL = "null";
     private static final String DIGIT = "digit";
+    private static final long MAX_SAFE_MANTISSA = (Long.MAX_VALUE - 9) / 10;
+    private static final int MAX_FAST_EXPONENT = 1000;
+    private static final int MAX_EXACT_POWER_OF_TEN = 22;
+    private static final int LONG_NUMBER = 0;
+    private static final int DOUBLE_NUMBER = 1;
+    private static final int OTHER_NUMBER = 2;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
 
     public static class JsonStringBuilder {
         public enum Step {
@@ -57,34 +124,57 @@ public final class Json {
             }
         }
 
-        private final StringBuilder builder;
-        private final Step identStep;
+        private static final char[] SPACE_FILL = " ".repeat(256).toCharArray();
+        private static final char[] TAB_FILL = "\t".repeat(64).toCharArray();
+        private StringBuilder builder;
+        private Step identStep;
+        private final int bufferLimit;
         private int indent;
+        private boolean canonical;
+        private Set<Object> objectsInProgress;
 
         public JsonStringBuilder(Step identStep) {
             builder = new StringBuilder();
             this.identStep = identStep;
+            this.bufferLimit = Integer.MAX_VALUE;
         }
 
         public JsonStringBuilder() {
             builder = new StringBuilder();
             this.identStep = Step.TWO_SPACES;
+            this.bufferLimit = Integer.MAX_VALUE;
+        }
+
+        protected JsonStringBuilder(Step identStep, int bufferLimit) {
+            builder = new StringBuilder(bufferLimit);
+            this.identStep = identStep;
+            this.bufferLimit = bufferLimit;
         }
 
         public JsonStringBuilder append(final char character) {
             builder.append(character);
+            checkBuffer();
             return this;
         }
 
         public JsonStringBuilder append(final String string) {
             builder.append(string);
+            checkBuffer();
+            return this;
+        }
+
+        public JsonStringBuilder append(final String string, final int start, final int end) {
+            builder.append(string, start, end);
+            checkBuffer();
             return this;
         }
 
         public JsonStringBuilder fillSpaces() {
-            builder.append(
-                    String.valueOf(identStep == Step.TABS ? '\t' : ' ')
-                            .repeat(Math.max(0, indent)));
+            final char[] fill = identStep == Step.TABS ? TAB_FILL : SPACE_FILL;
+            for (int remaining = indent; remaining > 0; remaining -= fill.length) {
+                builder.append(fill, 0, Math.min(remaining, fill.length));
+            }
+            checkBuffer();
             return this;
         }
 
@@ -101,19 +191,283 @@ public final class Json {
         public JsonStringBuilder newLine() {
             if (identStep != Step.COMPACT) {
                 builder.append('\n');
+                checkBuffer();
             }
             return this;
         }
 
+        private void checkBuffer() {
+            if (builder.length() >= bufferLimit) {
+                drain(builder);
+            }
+        }
+
+        protected void drain(StringBuilder buffer) {
+            // buffered builders keep everything in memory
+        }
+
         public Step getIdentStep() {
             return identStep;
         }
 
+        public JsonStringBuilder canonical(boolean canonical) {
+            this.canonical = canonical;
+            return this;
+        }
+
+        public boolean isCanonical() {
+            return canonical;
+        }
+
+        public JsonStringBuilder reset(Step identStep) {
+            if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+                builder = new StringBuilder();
+            } else {
+                builder.setLength(0);
+            }
+            this.identStep = identStep;
+            indent = 0;
+            canonical = false;
+            objectsInProgress = null;
+            return this;
+        }
+
+        public JsonStringBuilder reset() {
+            return reset(identStep);
+        }
+
+        boolean startObject(Object value) {
+            if (objectsInProgress == null) {
+                objectsInProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            return objectsInProgress.add(value);
+        }
+
+        void endObject(Object value) {
+            objectsInProgress.remove(value);
+        }
+
+        StringBuilder getBuffer() {
+            return builder;
+        }
+
         public String toString() {
             return builder.toString();
         }
     }
 
+    public static class JsonWriter extends JsonStringBuilder implements Closeable, Flushable {
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+        private final Appendable target;
+        private final char[] chars;
+
+        public JsonWriter(Appendable target, Step identStep, int bufferSize) {
+            super(identStep, Math.max(1, bufferSize));
+            this.target = target;
+            this.chars = target instanceof Writer ? new char[Math.max(1, bufferSize) + 64] : null;
+        }
+
+        public JsonWriter(Appendable target, Step identStep) {
+            this(target, identStep, DEFAULT_BUFFER_SIZE);
+        }
+
+        public JsonWriter(Appendable target) {
+            this(target, Step.TWO_SPACES, DEFAULT_BUFFER_SIZE);
+        }
+
+        public JsonWriter(OutputStream outputStream, Step identStep) {
+            this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), identStep);
+        }
+
+        @Override
+        protected void drain(StringBuilder buffer) {
+            try {
+                final int length = buffer.length();
+                if (chars != null && length <= chars.length) {
+                    buffer.getChars(0, length, chars, 0);
+                    ((Writer) target).write(chars, 0, length);
+                } else {
+                    target.append(buffer);
+                }
+            } catch (IOException ex) {
+                throw new UnsupportedOperationException(ex);
+            }
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                drain(getBuffer());
+            } catch (UnsupportedOperationException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw ex;
+            }
+            if (target instanceof Flushable) {
+                ((Flushable) target).flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            if (target instanceof Closeable) {
+                ((Closeable) target).close();
+            }
+        }
+    }
+
+    public static class JsonByteWriter extends JsonStringBuilder implements Closeable, Flushable {
+        private static final int CHAR_BUFFER_SIZE = 2048;
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+        private final OutputStream outputStream;
+        private byte[] bytes;
+        private int position;
+
+        public JsonByteWriter(OutputStream outputStream, Step identStep, int bufferSize) {
+            super(identStep, CHAR_BUFFER_SIZE);
+            this.outputStream = outputStream;
+            this.bytes = new byte[Math.max(4, bufferSize)];
+        }
+
+        public JsonByteWriter(OutputStream outputStream, Step identStep) {
+            this(outputStream, identStep, DEFAULT_BUFFER_SIZE);
+        }
+
+        public JsonByteWriter(Step identStep) {
+            this(null, identStep, DEFAULT_BUFFER_SIZE);
+        }
+
+        public JsonByteWriter() {
+            this(null, Step.TWO_SPACES, DEFAULT_BUFFER_SIZE);
+        }
+
+        @Override
+        protected void drain(StringBuilder buffer) {
+            int length = buffer.length();
+            if (length > 0 && Character.isHighSurrogate(buffer.charAt(length - 1))) {
+                length--;
+            }
+            int index = 0;
+            while (index < length) {
+                ensureRoom(4);
+                final int asciiLimit = Math.min(length, index + bytes.length - position);
+                while (index < asciiLimit) {
+                    final char ch = buffer.charAt(index);
+                    if (ch >= 0x80) {
+                        break;
+                    }
+                    bytes[position++] = (byte) ch;
+                    index++;
+                }
+                if (index < asciiLimit) {
+                    ensureRoom(4);
+                    index = encode(buffer, index, length);
+                }
+            }
+            buffer.delete(0, length);
+        }
+
+        private int encode(StringBuilder buffer, int index, int length) {
+            final char ch = buffer.charAt(index);
+            if (ch < 0x800) {
+                bytes[position++] = (byte) (0xC0 | ch >> 6);
+                bytes[position++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch)
+                        && index + 1 < length
+                        && Character.isLowSurrogate(buffer.charAt(index + 1))) {
+                    final int codePoint = Character.toCodePoint(ch, buffer.charAt(index + 1));
+                    bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+                    return index + 2;
+                }
+                bytes[position++] = '?';
+            } else {
+                bytes[position++] = (byte) (0xE0 | ch >> 12);
+                bytes[position++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | ch & 0x3F);
+            }
+            return index + 1;
+        }
+
+        private void ensureRoom(int count) {
+            if (position + count <= bytes.length) {
+                return;
+            }
+            if (outputStream == null) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + count));
+                return;
+            }
+            try {
+                outputStream.write(bytes, 0, position);
+            } catch (IOException ex) {
+                throw new UnsupportedOperationException(ex);
+            }
+            position = 0;
+        }
+
+        private void finish() {
+            final StringBuilder buffer = getBuffer();
+            drain(buffer);
+            if (buffer.length() > 0) {
+                buffer.setLength(0);
+                ensureRoom(1);
+                bytes[position++] = '?';
+            }
+        }
+
+        public byte[] toByteArray() {
+            finish();
+            return Arrays.copyOf(bytes, position);
+        }
+
+        public ByteBuffer toByteBuffer() {
+            finish();
+            return ByteBuffer.wrap(bytes, 0, position);
+        }
+
+        @Override
+        public JsonStringBuilder reset(Step identStep) {
+            position = 0;
+            return super.reset(identStep);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            try {
+                finish();
+            } catch (UnsupportedOperationException ex) {
+                if (ex.getCause() instanceof IOException) {
+                    throw (IOException) ex.getCause();
+                }
+                throw ex;
+            }
+            if (outputStream != null) {
+                outputStream.write(bytes, 0, position);
+                position = 0;
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            if (outputStream != null) {
+                outputStream.close();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
     public static class JsonArray {
         private JsonArray() {}
 
@@ -209,10 +563,11 @@ public final class Json {
                 builder.append("[]");
             } else {
                 builder.append('[').incIndent().newLine();
-                builder.fillSpaces().append(String.valueOf(floatArray[0]));
+                builder.fillSpaces();
+                writeElement(floatArray[0], builder);
                 for (int i = 1; i < floatArray.length; i++) {
                     builder.append(',').newLine().fillSpaces();
-                    builder.append(String.valueOf(floatArray[i]));
+                    writeElement(floatArray[i], builder);
                 }
                 builder.newLine().decIndent().fillSpaces().append(']');
             }
@@ -225,15 +580,32 @@ public final class Json {
                 builder.append("[]");
             } else {
                 builder.append('[').incIndent().newLine();
-                builder.fillSpaces().append(String.valueOf(doubleArray[0]));
+                builder.fillSpaces();
+                writeElement(doubleArray[0], builder);
                 for (int i = 1; i < doubleArray.length; i++) {
                     builder.append(',').newLine().fillSpaces();
-                    builder.append(String.valueOf(doubleArray[i]));
+                    writeElement(doubleArray[i], builder);
                 }
                 builder.newLine().decIndent().fillSpaces().append(']');
             }
         }
 
+        private static void writeElement(float value, JsonStringBuilder builder) {
+            if (builder.isCanonical()) {
+                JsonValue.writeCanonicalNumber(value, builder);
+            } else {
+                JsonValue.writeFloat(value, builder);
+            }
+        }
+
+        private static void writeElement(double value, JsonStringBuilder builder) {
+            if (builder.isCanonical()) {
+                JsonValue.writeCanonicalNumber(value, builder);
+            } else {
+                JsonValue.writeDouble(value, builder);
+            }
+        }
+
         public static void writeJson(boolean[] booleanArray, JsonStringBuilder builder) {
             if (booleanArray == null) {
                 builder.append(NULL);
@@ -284,6 +656,9 @@ public final class Json {
     }
 
     public static class JsonObject {
+        private static final Comparator<Map.Entry<?, ?>> CANONICAL_KEY_ORDER =
+                (left, right) ->
+                        String.valueOf(left.getKey()).compareTo(String.valueOf(right.getKey()));
         private JsonObject() {}
 
         public static void writeJson(Map map, JsonStringBuilder builder) {
@@ -291,7 +666,8 @@ public final class Json {
                 builder.append(NULL);
                 return;
             }
-            Iterator iter = map.entrySet().iterator();
+            Iterator iter =
+                    builder.isCanonical() ? sortedEntries(map) : map.entrySet().iterator();
             builder.append('{').incIndent();
             if (!map.isEmpty()) {
                 builder.newLine();
@@ -299,7 +675,7 @@ public final class Json {
             while (iter.hasNext()) {
                 Map.Entry entry = (Map.Entry) iter.next();
                 builder.fillSpaces().append('"');
-                builder.append(JsonValue.escape(String.valueOf(entry.getKey())));
+                JsonValue.escape(String.valueOf(entry.getKey()), builder);
                 builder.append('"');
                 builder.append(':');
                 if (builder.getIdentStep() != JsonStringBuilder.Step.COMPACT) {
@@ -312,27 +688,66 @@ public final class Json {
             }
             builder.newLine().decIndent().fillSpaces().append('}');
         }
+
+        private static Iterator<Map.Entry<?, ?>> sortedEntries(Map<?, ?> map) {
+            final List<Map.Entry<?, ?>> entries = new ArrayList<>(map.entrySet());
+            entries.sort(CANONICAL_KEY_ORDER);
+            return entries.iterator();
+        }
     }
 
     public static class JsonValue {
+        private static final String[] ESCAPES = createEscapes();
+        private static final double MIN_PLAIN_DECIMAL = 1e-3;
+        private static final double MAX_PLAIN_DECIMAL = 1e7;
+        private static final double MAX_DOUBLE_MANTISSA = 1e15;
+        private static final double MAX_FLOAT_MANTISSA = 1e6;
+        private static final long[] LONG_POWERS_OF_TEN = {
+            1L,
+            10L,
+            100L,
+            1_000L,
+            10_000L,
+            100_000L,
+            1_000_000L,
+            10_000_000L,
+            100_000_000L,
+            1_000_000_000L,
+            10_000_000_000L,
+            100_000_000_000L,
+            1_000_000_000_000L,
+            10_000_000_000_000L,
+            100_000_000_000_000L,
+            1_000_000_000_000_000L,
+            10_000_000_000_000_000L,
+            100_000_000_000_000_000L
+        };
+        private static final float[] FLOAT_POWERS_OF_TEN = {
+            1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+        };
+
         private JsonValue() {}
 
         public static void writeJson(Object value, JsonStringBuilder builder) {
             if (value == null) {
                 builder.append(NULL);
             } else if (value instanceof String) {
-                builder.append('"').append(escape((String) value)).append('"');
+                builder.append('"');
+                escape((String) value, builder);
+                builder.append('"');
+            } else if (value instanceof Number && builder.isCanonical()) {
+                writeCanonicalNumber((Number) value, builder);
             } else if (value instanceof Double) {
                 if (((Double) value).isInfinite() || ((Double) value).isNaN()) {
                     builder.append(NULL);
                 } else {
-                    builder.append(value.toString());
+                    writeDouble((Double) value, builder);
                 }
             } else if (value instanceof Float) {
                 if (((Float) value).isInfinite() || ((Float) value).isNaN()) {
                     builder.append(NULL);
                 } else {
-                    builder.append(value.toString());
+                    writeFloat((Float) value, builder);
                 }
             } else if (value instanceof Number) {
                 builder.append(value.toString());
@@ -367,7 +782,99 @@ public final class Json {
             } else if (value instanceof Object[]) {
                 JsonArray.writeJson((Object[]) value, builder);
             } else {
-                builder.append('"').append(escape(value.toString())).append('"');
+                final ClassAccessors accessors = ClassAccessors.of(value.getClass());
+                if (accessors.isObject()) {
+                    accessors.writeJson(value, builder);
+                    return;
+                }
+                builder.append('"');
+                escape(value.toString(), builder);
+                builder.append('"');
+            }
+        }
+
+        static void writeCanonicalNumber(Number value, JsonStringBuilder builder) {
+            if (value instanceof Double || value instanceof Float) {
+                final double number = value.doubleValue();
+                if (Double.isNaN(number) || Double.isInfinite(number)) {
+                    builder.append(NULL);
+                } else if (number == Math.rint(number) && Math.abs(number) < MAX_DOUBLE_MANTISSA) {
+                    if (number < 0) {
+                        builder.append('-');
+                    }
+                    writeDigits((long) Math.abs(number), 1, builder);
+                } else if (value instanceof Float) {
+                    writeCanonicalDecimal(new BigDecimal(value.toString()), builder);
+                } else {
+                    writeCanonicalDecimal(BigDecimal.valueOf(number), builder);
+                }
+            } else if (value instanceof BigDecimal) {
+                writeCanonicalDecimal((BigDecimal) value, builder);
+            } else {
+                builder.append(value.toString());
+            }
+        }
+
+        private static void writeCanonicalDecimal(BigDecimal value, JsonStringBuilder builder) {
+            builder.append(value.stripTrailingZeros().toPlainString());
+        }
+
+        static void writeDouble(double value, JsonStringBuilder builder) {
+            final double abs = Math.abs(value);
+            if (abs >= MIN_PLAIN_DECIMAL && abs < MAX_PLAIN_DECIMAL) {
+                for (int scale = 0; scale < LONG_POWERS_OF_TEN.length; scale++) {
+                    final double mantissa = Math.rint(abs * POWERS_OF_TEN[scale]);
+                    if (mantissa >= MAX_DOUBLE_MANTISSA) {
+                        break;
+                    }
+                    if (mantissa / POWERS_OF_TEN[scale] == abs) {
+                        writeDecimal(value < 0, (long) mantissa, scale, builder);
+                        return;
+                    }
+                }
+            }
+            builder.append(Double.toString(value));
+        }
+
+        static void writeFloat(float value, JsonStringBuilder builder) {
+            final float abs = Math.abs(value);
+            if (abs >= MIN_PLAIN_DECIMAL && abs < MAX_PLAIN_DECIMAL) {
+                for (int scale = 0; scale < FLOAT_POWERS_OF_TEN.length; scale++) {
+                    final double mantissa = Math.rint(abs * POWERS_OF_TEN[scale]);
+                    if (mantissa >= MAX_FLOAT_MANTISSA) {
+                        break;
+                    }
+                    if ((float) mantissa / FLOAT_POWERS_OF_TEN[scale] == abs) {
+                        writeDecimal(value < 0, (long) mantissa, scale, builder);
+                        return;
+                    }
+                }
+            }
+            builder.append(Float.toString(value));
+        }
+
+        private static void writeDecimal(
+                boolean negative, long mantissa, int scale, JsonStringBuilder builder) {
+            if (negative) {
+                builder.append('-');
+            }
+            final long power = LONG_POWERS_OF_TEN[scale];
+            writeDigits(mantissa / power, 1, builder);
+            builder.append('.');
+            if (scale == 0) {
+                builder.append('0');
+            } else {
+                writeDigits(mantissa % power, scale, builder);
+            }
+        }
+
+        private static void writeDigits(long value, int minDigits, JsonStringBuilder builder) {
+            int digits = minDigits;
+            while (digits < LONG_POWERS_OF_TEN.length && value >= LONG_POWERS_OF_TEN[digits]) {
+                digits++;
+            }
+            for (int index = digits - 1; index >= 0; index--) {
+                builder.append((char) ('0' + value / LONG_POWERS_OF_TEN[index] % 10));
             }
         }
 
@@ -375,448 +882,3065 @@ public final class Json {
             if (inputString == null) {
                 return null;
             }
-            StringBuilder sb = new StringBuilder();
-            escape(inputString, sb);
-            return sb.toString();
+            if (firstEscapeIndex(inputString) == -1) {
+                return inputString;
+            }
+            JsonStringBuilder builder = new JsonStringBuilder();
+            escape(inputString, builder);
+            return builder.toString();
+        }
+
+        static void escape(String inputString, JsonStringBuilder builder) {
+            int start = firstEscapeIndex(inputString);
+            if (start == -1) {
+                builder.append(inputString);
+                return;
+            }
+            builder.append(inputString, 0, start);
+            final int len = inputString.length();
+            for (int i = start; i < len; i++) {
+                final char ch = inputString.charAt(i);
+                if (needsEscape(ch)) {
+                    builder.append(inputString, start, i);
+                    builder.append(escapeChar(ch));
+                    start = i + 1;
+                }
+            }
+            builder.append(inputString, start, len);
         }
 
-        private static void escape(String inputString, StringBuilder sb) {
+        private static int firstEscapeIndex(String inputString) {
             final int len = inputString.length();
             for (int i = 0; i < len; i++) {
-                char ch = inputString.charAt(i);
-                switch (ch) {
-                    case '"':
-                        sb.append("\\\"");
-                        break;
-                    case '\\':
-                        sb.append("\\\\");
-                        break;
-                    case '\b':
-                        sb.append("\\b");
-                        break;
-                    case '\f':
-                        sb.append("\\f");
-                        break;
-                    case '\n':
-                        sb.append("\\n");
-                        break;
-                    case '\r':
-                        sb.append("\\r");
-                        break;
-                    case '\t':
-                        sb.append("\\t");
-                        break;
-                    case '€':
-                        sb.append('€');
-                        break;
-                    default:
-                        if (ch <= '\u001F'
-                                || ch >= '\u007F' && ch <= '\u009F'
-                                || ch >= '\u2000' && ch <= '\u20FF') {
-                            String ss = Integer.toHexString(ch);
-                            sb.append("\\u");
-                            sb.append("0".repeat(4 - ss.length()));
-                            sb.append(ss.toUpperCase());
-                        } else {
-                            sb.append(ch);
-                        }
-                        break;
+                if (needsEscape(inputString.charAt(i))) {
+                    return i;
                 }
             }
+            return -1;
         }
-    }
-
-    public static class ParseException extends RuntimeException {
-        private final int offset;
-        private final int line;
-        private final int column;
 
-        public ParseException(String message, int offset, int line, int column) {
-            super(String.format("%s at %d:%d", message, line, column));
-            this.offset = offset;
-            this.line = line;
-            this.column = column;
+        private static boolean needsEscape(char ch) {
+            if (ch < ESCAPES.length) {
+                return ESCAPES[ch] != null;
+            }
+            return ch >= '\u2000' && ch <= '\u20FF' && ch != '€';
         }
 
-        public int getOffset() {
-            return offset;
+        private static String escapeChar(char ch) {
+            if (ch < ESCAPES.length) {
+                return ESCAPES[ch];
+            }
+            return unicodeEscape(ch);
         }
 
-        public int getLine() {
-            return line;
+        private static String unicodeEscape(char ch) {
+            String ss = Integer.toHexString(ch);
+            return "\\u" + "0".repeat(4 - ss.length()) + ss.toUpperCase();
         }
 
-        public int getColumn() {
-            return column;
+        private static String[] createEscapes() {
+            final String[] escapes = new String['\u009F' + 1];
+            for (char ch = 0; ch < escapes.length; ch++) {
+                if (ch <= '\u001F' || ch >= '\u007F') {
+                    escapes[ch] = unicodeEscape(ch);
+                }
+            }
+            escapes['"'] = "\\\"";
+            escapes['\\'] = "\\\\";
+            escapes['\b'] = "\\b";
+            escapes['\f'] = "\\f";
+            escapes['\n'] = "\\n";
+            escapes['\r'] = "\\r";
+            escapes['\t'] = "\\t";
+            return escapes;
         }
     }
 
-    public static class JsonParser {
-        private final String json;
-        private int index;
-        private int line;
-        private int lineOffset;
-        private int current;
-        private final StringBuilder captureBuffer = new StringBuilder();
-        private int captureStart;
-        private final int maxDepth;
+    private static final class ClassAccessors {
+        private static final ClassAccessors NONE = new ClassAccessors(null, null, null);
+        private static final ClassValue<ClassAccessors> CACHE =
+                new ClassValue<>() {
+                    @Override
+                    protected ClassAccessors computeValue(Class<?> type) {
+                        return create(type);
+                    }
+                };
+        private final String[] names;
+        private final MethodHandle[] getters;
+        private final int[] sortedOrder;
 
-        public JsonParser(String string, int maxDepth) {
-            this.json = string;
-            this.maxDepth = maxDepth;
-            line = 1;
-            captureStart = -1;
+        private ClassAccessors(String[] names, MethodHandle[] getters, int[] sortedOrder) {
+            this.names = names;
+            this.getters = getters;
+            this.sortedOrder = sortedOrder;
         }
 
-        public Object parse() {
-            read();
-            skipWhiteSpace();
-            final Object result = readValue(0);
-            skipWhiteSpace();
-            if (!isEndOfText()) {
-                throw error("Unexpected character");
-            }
-            return result;
+        static ClassAccessors of(Class<?> type) {
+            return CACHE.get(type);
         }
 
-        private Object readValue(int depth) {
-            if (depth > maxDepth) {
-                throw error("Maximum depth exceeded");
+        boolean isObject() {
+            return names != null;
+        }
+
+        void writeJson(Object value, JsonStringBuilder builder) {
+            if (!builder.startObject(value)) {
+                throw new IllegalArgumentException(
+                        "Cyclic reference to " + value.getClass().getName());
             }
-            switch (current) {
-                case 'n':
-                    return readNull();
-                case 't':
-                    return readTrue();
-                case 'f':
-                    return readFalse();
-                case '"':
-                    return readString();
-                case '[':
-                    return readArray(depth + 1);
-                case '{':
-                    return readObject(depth + 1);
-                case '-':
-                case '0':
-                case '1':
-                case '2':
-                case '3':
-                case '4':
-                case '5':
-                case '6':
-                case '7':
-                case '8':
-                case '9':
-                    return readNumber();
-                default:
-                    throw expected("value");
+            try {
+                writeProperties(value, builder);
+            } finally {
+                builder.endObject(value);
             }
         }
 
-        private List<Object> readArray(int depth) {
-            read();
-            List<Object> array = new ArrayList<>();
-            skipWhiteSpace();
-            if (readChar(']')) {
-                return array;
+        private void writeProperties(Object value, JsonStringBuilder builder) {
+            builder.append('{').incIndent();
+            if (names.length > 0) {
+                builder.newLine();
             }
-            do {
-                skipWhiteSpace();
-                array.add(readValue(depth));
-                skipWhiteSpace();
+            for (int position = 0; position < names.length; position++) {
+                final int index = builder.isCanonical() ? sortedOrder[position] : position;
+                builder.fillSpaces().append('"').append(names[index]).append('"').append(':');
+                if (builder.getIdentStep() != JsonStringBuilder.Step.COMPACT) {
+                    builder.append(' ');
+                }
+                JsonValue.writeJson(get(index, value), builder);
+                if (position < names.length - 1) {
+                    builder.append(',').newLine();
+                }
+            }
+            builder.newLine().decIndent().fillSpaces().append('}');
+        }
+
+        private Object get(int index, Object value) {
+            try {
+                return (Object) getters[index].invokeExact(value);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        private static ClassAccessors create(Class<?> type) {
+            if (type.isArray() || Enum.class.isAssignableFrom(type) || isPlatformType(type)) {
+                return NONE;
+            }
+            try {
+                final List<Method> methods =
+                        isRecord(type) ? recordAccessors(type) : beanGetters(type);
+                if (methods.isEmpty()) {
+                    return NONE;
+                }
+                final String[] names = new String[methods.size()];
+                final String[] rawNames = new String[methods.size()];
+                final MethodHandle[] getters = new MethodHandle[methods.size()];
+                final MethodHandles.Lookup lookup = MethodHandles.lookup();
+                for (int index = 0; index < names.length; index++) {
+                    final Method method = methods.get(index);
+                    if (!method.trySetAccessible()) {
+                        return NONE;
+                    }
+                    rawNames[index] = propertyName(method, isRecord(type));
+                    names[index] = JsonValue.escape(rawNames[index]);
+                    getters[index] =
+                            lookup.unreflect(method)
+                                    .asType(MethodType.methodType(Object.class, Object.class));
+                }
+                final int[] sortedOrder =
+                        IntStream.range(0, names.length)
+                                .boxed()
+                                .sorted(Comparator.comparing(index -> rawNames[index]))
+                                .mapToInt(Integer::intValue)
+                                .toArray();
+                return new ClassAccessors(names, getters, sortedOrder);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return NONE;
+            }
+        }
+
+        private static boolean isPlatformType(Class<?> type) {
+            final String name = type.getName();
+            return type.isPrimitive()
+                    || name.startsWith("java.")
+                    || name.startsWith("javax.")
+                    || name.startsWith("jdk.")
+                    || name.startsWith("sun.")
+                    || name.startsWith("com.sun.");
+        }
+
+        static boolean isRecord(Class<?> type) {
+            return type.getSuperclass() != null
+                    && "java.lang.Record".equals(type.getSuperclass().getName());
+        }
+
+        static List<Method> recordAccessors(Class<?> type)
+                throws ReflectiveOperationException {
+            final Object[] components =
+                    (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+            final List<Method> accessors = new ArrayList<>(components.length);
+            for (Object component : components) {
+                accessors.add(
+                        (Method) component.getClass().getMethod("getAccessor").invoke(component));
+            }
+            return accessors;
+        }
+
+        private static List<Method> beanGetters(Class<?> type) {
+            final Map<String, Method> getters = new TreeMap<>();
+            for (Method method : type.getMethods()) {
+                if (isGetter(method)) {
+                    getters.merge(
+                            propertyName(method, false),
+                            method,
+                            (first, second) -> first.getName().startsWith("is") ? first : second);
+                }
+            }
+            return new ArrayList<>(getters.values());
+        }
+
+        private static boolean isGetter(Method method) {
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.isBridge()
+                    || method.getParameterCount() != 0
+                    || method.getDeclaringClass() == Object.class) {
+                return false;
+            }
+            final String name = method.getName();
+            if (name.startsWith("get") && name.length() > 3) {
+                return method.getReturnType() != void.class;
+            }
+            return name.startsWith("is")
+                    && name.length() > 2
+                    && (method.getReturnType() == boolean.class
+                            || method.getReturnType() == Boolean.class);
+        }
+
+        static String propertyName(Method method, boolean isRecord) {
+            final String name = method.getName();
+            if (isRecord) {
+                return name;
+            }
+            final String property = name.substring(name.startsWith("is") ? 2 : 3);
+            if (property.length() > 1 && Character.isUpperCase(property.charAt(1))) {
+                return property;
+            }
+            return Character.toLowerCase(property.charAt(0)) + property.substring(1);
+        }
+    }
+
+    private abstract static class TypeBinder {
+        private static final ClassValue<TypeBinder> CACHE =
+                new ClassValue<>() {
+                    @Override
+                    protected TypeBinder computeValue(Class<?> type) {
+                        return create(type);
+                    }
+                };
+
+        abstract Object read(JsonReader reader);
+
+        static TypeBinder of(Type type) {
+            if (type instanceof Class) {
+                return CACHE.get((Class<?>) type);
+            }
+            if (type instanceof ParameterizedType) {
+                final Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+                final Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+                if (Collection.class.isAssignableFrom(raw)) {
+                    return new CollectionBinder(raw, arguments[0]);
+                }
+                if (Map.class.isAssignableFrom(raw)) {
+                    return new MapBinder(raw, arguments[1]);
+                }
+                return of(raw);
+            }
+            if (type instanceof GenericArrayType) {
+                final Type component = ((GenericArrayType) type).getGenericComponentType();
+                return new ArrayBinder(rawType(component), component);
+            }
+            if (type instanceof WildcardType) {
+                return of(((WildcardType) type).getUpperBounds()[0]);
+            }
+            return of(Object.class);
+        }
+
+        private static Class<?> rawType(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            }
+            if (type instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) type).getRawType();
+            }
+            if (type instanceof GenericArrayType) {
+                return Array.newInstance(
+                                rawType(((GenericArrayType) type).getGenericComponentType()), 0)
+                        .getClass();
+            }
+            return Object.class;
+        }
+
+        private static TypeBinder create(Class<?> type) {
+            if (type == Object.class) {
+                return new ValueBinder();
+            }
+            if (type == String.class
+                    || type == Boolean.class
+                    || type == boolean.class
+                    || type == Character.class
+                    || type == char.class
+                    || Number.class.isAssignableFrom(type)
+                    || type.isPrimitive()) {
+                return new ScalarBinder(type);
+            }
+            if (type.isEnum()) {
+                return new EnumBinder(type);
+            }
+            if (type.isArray()) {
+                return new ArrayBinder(type.getComponentType(), type.getComponentType());
+            }
+            if (Collection.class.isAssignableFrom(type)) {
+                return new CollectionBinder(type, Object.class);
+            }
+            if (Map.class.isAssignableFrom(type)) {
+                return new MapBinder(type, Object.class);
+            }
+            if (ClassAccessors.isRecord(type)) {
+                return new RecordBinder(type);
+            }
+            return new BeanBinder(type);
+        }
+
+        static IllegalArgumentException mismatch(JsonReader reader, Type type) {
+            return new IllegalArgumentException(
+                    "Cannot bind " + reader.getToken() + " to " + type.getTypeName());
+        }
+
+        static Object construct(MethodHandle constructor) {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        static Object construct(MethodHandle constructor, Object[] arguments) {
+            try {
+                return (Object) constructor.invokeExact(arguments);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        static void set(MethodHandle setter, Object bean, Object value) {
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        static Object defaultValue(Class<?> type) {
+            return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        }
+
+        static <T> Map<String, T> indexByName(List<String> names, List<T> values) {
+            final Map<String, T> result = new HashMap<>();
+            for (int index = 0; index < names.size(); index++) {
+                result.put(names.get(index), values.get(index));
+            }
+            return result;
+        }
+    }
+
+    private static final class LazyBinder {
+        private final Type type;
+        private TypeBinder binder;
+
+        LazyBinder(Type type) {
+            this.type = type;
+        }
+
+        Object read(JsonReader reader) {
+            if (binder == null) {
+                binder = TypeBinder.of(type);
+            }
+            return binder.read(reader);
+        }
+    }
+
+    private static final class ValueBinder extends TypeBinder {
+        @Override
+        Object read(JsonReader reader) {
+            return reader.readValue();
+        }
+    }
+
+    private static final class ScalarBinder extends TypeBinder {
+        private final Class<?> type;
+
+        ScalarBinder(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        Object read(JsonReader reader) {
+            final JsonReader.Token token = reader.getToken();
+            if (token == JsonReader.Token.VALUE_NULL) {
+                return defaultValue(type);
+            }
+            if (type == String.class) {
+                if (token != JsonReader.Token.VALUE_STRING) {
+                    throw mismatch(reader, type);
+                }
+                return reader.getText();
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                if (token != JsonReader.Token.VALUE_TRUE && token != JsonReader.Token.VALUE_FALSE) {
+                    throw mismatch(reader, type);
+                }
+                return token == JsonReader.Token.VALUE_TRUE;
+            }
+            if (type == char.class || type == Character.class) {
+                if (token != JsonReader.Token.VALUE_STRING || reader.getText().length() != 1) {
+                    throw mismatch(reader, type);
+                }
+                return reader.getText().charAt(0);
+            }
+            if (token != JsonReader.Token.VALUE_NUMBER) {
+                throw mismatch(reader, type);
+            }
+            try {
+                return toNumber(reader.getText(), reader.getNumber());
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException(
+                        "Cannot bind " + reader.getText() + " to " + type.getName(), ex);
+            }
+        }
+
+        private Object toNumber(String text, Number number) {
+            if (type == double.class || type == Double.class) {
+                return number.doubleValue();
+            }
+            if (type == float.class || type == Float.class) {
+                return number.floatValue();
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(text);
+            }
+            if (type == BigInteger.class) {
+                return new BigDecimal(text).toBigIntegerExact();
+            }
+            if (type == long.class || type == Long.class) {
+                return number instanceof Long ? number : new BigDecimal(text).longValueExact();
+            }
+            final long value =
+                    number instanceof Long ? (Long) number : new BigDecimal(text).longValueExact();
+            if (type == int.class || type == Integer.class) {
+                return Math.toIntExact(value);
+            }
+            if (type == short.class || type == Short.class) {
+                if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+                    throw new ArithmeticException("short overflow");
+                }
+                return (short) value;
+            }
+            if (type == byte.class || type == Byte.class) {
+                if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                    throw new ArithmeticException("byte overflow");
+                }
+                return (byte) value;
+            }
+            if (type.isInstance(number)) {
+                return number;
+            }
+            throw new IllegalArgumentException("Cannot bind " + text + " to " + type.getName());
+        }
+    }
+
+    private static final class EnumBinder extends TypeBinder {
+        private final Class<?> type;
+
+        EnumBinder(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.VALUE_STRING) {
+                throw mismatch(reader, type);
+            }
+            return Enum.valueOf((Class) type, reader.getText());
+        }
+    }
+
+    private static final class ArrayBinder extends TypeBinder {
+        private final Class<?> componentType;
+        private final LazyBinder component;
+
+        ArrayBinder(Class<?> componentType, Type component) {
+            this.componentType = componentType;
+            this.component = new LazyBinder(component);
+        }
+
+        @Override
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.START_ARRAY) {
+                throw mismatch(reader, Array.newInstance(componentType, 0).getClass());
+            }
+            final List<Object> values = new ArrayList<>();
+            while (reader.nextToken() != JsonReader.Token.END_ARRAY) {
+                values.add(component.read(reader));
+            }
+            final Object array = Array.newInstance(componentType, values.size());
+            for (int index = 0; index < values.size(); index++) {
+                Array.set(array, index, values.get(index));
+            }
+            return array;
+        }
+    }
+
+    private static final class CollectionBinder extends TypeBinder {
+        private final Class<?> type;
+        private final LazyBinder element;
+
+        CollectionBinder(Class<?> type, Type element) {
+            this.type = type;
+            this.element = new LazyBinder(element);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.START_ARRAY) {
+                throw mismatch(reader, type);
+            }
+            final Collection<Object> collection = create();
+            while (reader.nextToken() != JsonReader.Token.END_ARRAY) {
+                collection.add(element.read(reader));
+            }
+            return collection;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Collection<Object> create() {
+            if (type.isAssignableFrom(ArrayList.class)) {
+                return new ArrayList<>();
+            }
+            if (type.isAssignableFrom(LinkedHashSet.class)) {
+                return new LinkedHashSet<>();
+            }
+            if (type.isAssignableFrom(TreeSet.class)) {
+                return new TreeSet<>();
+            }
+            if (type.isAssignableFrom(ArrayDeque.class)) {
+                return new ArrayDeque<>();
+            }
+            try {
+                return (Collection<Object>) type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+    }
+
+    private static final class MapBinder extends TypeBinder {
+        private final Class<?> type;
+        private final LazyBinder value;
+
+        MapBinder(Class<?> type, Type value) {
+            this.type = type;
+            this.value = new LazyBinder(value);
+        }
+
+        @Override
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.START_OBJECT) {
+                throw mismatch(reader, type);
+            }
+            final Map<String, Object> map = create();
+            while (reader.nextToken() == JsonReader.Token.FIELD_NAME) {
+                final String name = reader.getText();
+                reader.nextToken();
+                map.put(name, value.read(reader));
+            }
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> create() {
+            if (type.isAssignableFrom(LinkedHashMap.class)) {
+                return new LinkedHashMap<>();
+            }
+            if (type.isAssignableFrom(TreeMap.class)) {
+                return new TreeMap<>();
+            }
+            try {
+                return (Map<String, Object>) type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+    }
+
+    private static final class RecordBinder extends TypeBinder {
+        private final Class<?> type;
+        private final Class<?>[] componentTypes;
+        private final LazyBinder[] components;
+        private final Map<String, Integer> indexes;
+        private final MethodHandle constructor;
+
+        RecordBinder(Class<?> type) {
+            this.type = type;
+            try {
+                final List<Method> accessors = ClassAccessors.recordAccessors(type);
+                componentTypes = new Class<?>[accessors.size()];
+                components = new LazyBinder[accessors.size()];
+                final List<String> names = new ArrayList<>();
+                final List<Integer> positions = new ArrayList<>();
+                for (int index = 0; index < components.length; index++) {
+                    final Method accessor = accessors.get(index);
+                    componentTypes[index] = accessor.getReturnType();
+                    components[index] = new LazyBinder(accessor.getGenericReturnType());
+                    names.add(accessor.getName());
+                    positions.add(index);
+                }
+                indexes = indexByName(names, positions);
+                final Constructor<?> canonical = type.getDeclaredConstructor(componentTypes);
+                canonical.setAccessible(true);
+                constructor =
+                        MethodHandles.lookup()
+                                .unreflectConstructor(canonical)
+                                .asSpreader(Object[].class, componentTypes.length)
+                                .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+
+        @Override
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.START_OBJECT) {
+                throw mismatch(reader, type);
+            }
+            final Object[] arguments = new Object[components.length];
+            final boolean[] present = new boolean[components.length];
+            while (reader.nextToken() == JsonReader.Token.FIELD_NAME) {
+                final Integer index = indexes.get(reader.getText());
+                reader.nextToken();
+                if (index == null) {
+                    reader.skipValue();
+                } else {
+                    arguments[index] = components[index].read(reader);
+                    present[index] = true;
+                }
+            }
+            for (int index = 0; index < arguments.length; index++) {
+                if (!present[index]) {
+                    arguments[index] = defaultValue(componentTypes[index]);
+                }
+            }
+            return construct(constructor, arguments);
+        }
+    }
+
+    private static final class BeanBinder extends TypeBinder {
+        private static final MethodType SETTER_TYPE =
+                MethodType.methodType(void.class, Object.class, Object.class);
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final Map<String, MethodHandle> setters;
+        private final Map<String, Class<?>> parameterTypes;
+        private final Map<String, LazyBinder> properties;
+
+        BeanBinder(Class<?> type) {
+            this.type = type;
+            try {
+                final Constructor<?> noArgs = type.getDeclaredConstructor();
+                noArgs.setAccessible(true);
+                constructor =
+                        MethodHandles.lookup()
+                                .unreflectConstructor(noArgs)
+                                .asType(MethodType.methodType(Object.class));
+                final List<String> names = new ArrayList<>();
+                final List<MethodHandle> handles = new ArrayList<>();
+                final List<Class<?>> types = new ArrayList<>();
+                final List<LazyBinder> binders = new ArrayList<>();
+                for (Method method : type.getMethods()) {
+                    if (isSetter(method) && method.trySetAccessible()) {
+                        names.add(ClassAccessors.propertyName(method, false));
+                        handles.add(MethodHandles.lookup().unreflect(method).asType(SETTER_TYPE));
+                        types.add(method.getParameterTypes()[0]);
+                        binders.add(new LazyBinder(method.getGenericParameterTypes()[0]));
+                    }
+                }
+                setters = indexByName(names, handles);
+                parameterTypes = indexByName(names, types);
+                properties = indexByName(names, binders);
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException("Cannot bind to " + type.getName(), ex);
+            }
+        }
+
+        private static boolean isSetter(Method method) {
+            return !Modifier.isStatic(method.getModifiers())
+                    && !method.isBridge()
+                    && method.getParameterCount() == 1
+                    && method.getName().startsWith("set")
+                    && method.getName().length() > 3;
+        }
+
+        @Override
+        Object read(JsonReader reader) {
+            if (reader.getToken() == JsonReader.Token.VALUE_NULL) {
+                return null;
+            }
+            if (reader.getToken() != JsonReader.Token.START_OBJECT) {
+                throw mismatch(reader, type);
+            }
+            final Object bean = construct(constructor);
+            while (reader.nextToken() == JsonReader.Token.FIELD_NAME) {
+                final String name = reader.getText();
+                final MethodHandle setter = setters.get(name);
+                reader.nextToken();
+                if (setter == null) {
+                    reader.skipValue();
+                } else {
+                    final Object value = properties.get(name).read(reader);
+                    set(
+                            setter,
+                            bean,
+                            value == null ? defaultValue(parameterTypes.get(name)) : value);
+                }
+            }
+            return bean;
+        }
+    }
+
+    public static class ParseException extends RuntimeException {
+        private final int offset;
+        private final int line;
+        private final int column;
+
+        public ParseException(String message, int offset, int line, int column) {
+            super(String.format("%s at %d:%d", message, line, column));
+            this.offset = offset;
+            this.line = line;
+            this.column = column;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+    }
+
+    public static class LongList extends AbstractList<Long> implements RandomAccess {
+        private final long[] values;
+        private final int size;
+
+        public LongList(long[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        public LongList(long[] values) {
+            this(values, values.length);
+        }
+
+        @Override
+        public Long get(int index) {
+            checkIndex(index, size);
+            return values[index];
+        }
+
+        @Override
+        public Long set(int index, Long value) {
+            checkIndex(index, size);
+            final long oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        public long getLong(int index) {
+            checkIndex(index, size);
+            return values[index];
+        }
+
+        public long[] toLongArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    public static class DoubleList extends AbstractList<Double> implements RandomAccess {
+        private final double[] values;
+        private final int size;
+
+        public DoubleList(double[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        public DoubleList(double[] values) {
+            this(values, values.length);
+        }
+
+        @Override
+        public Double get(int index) {
+            checkIndex(index, size);
+            return values[index];
+        }
+
+        @Override
+        public Double set(int index, Double value) {
+            checkIndex(index, size);
+            final double oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        public double getDouble(int index) {
+            checkIndex(index, size);
+            return values[index];
+        }
+
+        public double[] toDoubleArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    public static class KeyCache {
+        private static final int DEFAULT_SIZE = 1024;
+        private final String[] entries;
+        private final int mask;
+
+        public KeyCache() {
+            this(DEFAULT_SIZE);
+        }
+
+        public KeyCache(int size) {
+            final int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+            entries = new String[capacity];
+            mask = capacity - 1;
+        }
+
+        public String intern(String source, int from, int to) {
+            int hash = 0;
+            for (int index = from; index < to; index++) {
+                hash = 31 * hash + source.charAt(index);
+            }
+            final int slot = (hash ^ (hash >>> 16)) & mask;
+            final String cached = entries[slot];
+            final int length = to - from;
+            if (cached != null
+                    && cached.length() == length
+                    && source.regionMatches(from, cached, 0, length)) {
+                return cached;
+            }
+            final String key = source.substring(from, to);
+            entries[slot] = key;
+            return key;
+        }
+
+        public String intern(String key) {
+            final int hash = key.hashCode();
+            final int slot = (hash ^ (hash >>> 16)) & mask;
+            final String cached = entries[slot];
+            if (key.equals(cached)) {
+                return cached;
+            }
+            entries[slot] = key;
+            return key;
+        }
+    }
+
+    public static class ParseOptions {
+        private int maxDepth = PARSE_MAX_DEPTH;
+        private boolean iterative;
+        private boolean internKeys;
+        private KeyCache keyCache;
+        private boolean compactMaps;
+        private boolean primitiveArrays;
+
+        public ParseOptions maxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        public ParseOptions iterative(boolean iterative) {
+            this.iterative = iterative;
+            return this;
+        }
+
+        public ParseOptions internKeys(boolean internKeys) {
+            this.internKeys = internKeys;
+            return this;
+        }
+
+        public ParseOptions keyCache(KeyCache keyCache) {
+            this.keyCache = keyCache;
+            return this;
+        }
+
+        public ParseOptions compactMaps(boolean compactMaps) {
+            this.compactMaps = compactMaps;
+            return this;
+        }
+
+        public ParseOptions primitiveArrays(boolean primitiveArrays) {
+            this.primitiveArrays = primitiveArrays;
+            return this;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        public boolean isIterative() {
+            return iterative;
+        }
+
+        public boolean isInternKeys() {
+            return internKeys;
+        }
+
+        public KeyCache getKeyCache() {
+            return keyCache;
+        }
+
+        public boolean isCompactMaps() {
+            return compactMaps;
+        }
+
+        public boolean isPrimitiveArrays() {
+            return primitiveArrays;
+        }
+
+        KeyCache createKeyCache() {
+            if (keyCache != null) {
+                return keyCache;
+            }
+            return internKeys ? new KeyCache() : null;
+        }
+    }
+
+    abstract static class JsonScanner {
+        int line = 1;
+        int lineOffset;
+        int current;
+        StringBuilder captureBuffer = new StringBuilder();
+        int captureStart = -1;
+
+        abstract void read();
+
+        abstract void startCapture();
+
+        abstract void pauseCapture();
+
+        abstract String endCapture();
+
+        abstract ParseException error(String message);
+
+        String readNull() {
+            readRequiredLiteral(NULL);
+            return null;
+        }
+
+        Boolean readTrue() {
+            readRequiredLiteral("true");
+            return Boolean.TRUE;
+        }
+
+        Boolean readFalse() {
+            readRequiredLiteral("false");
+            return Boolean.FALSE;
+        }
+
+        void readRequiredLiteral(String literal) {
+            read();
+            for (int i = 1; i < literal.length(); i++) {
+                if (!readChar(literal.charAt(i))) {
+                    throw expected("'" + literal.charAt(i) + "'");
+                }
+            }
+        }
+
+        String readString() {
+            scanString();
+            String string = endCapture();
+            read();
+            return string;
+        }
+
+        void scanString() {
+            read();
+            startCapture();
+            while (current != '"') {
+                if (current == '\\') {
+                    pauseCapture();
+                    readEscape();
+                    startCapture();
+                } else if (current < 0x20) {
+                    throw expected("valid string character");
+                } else {
+                    read();
+                }
+            }
+        }
+
+        void readEscape() {
+            read();
+            switch (current) {
+                case '"':
+                case '/':
+                case '\\':
+                    captureBuffer.append((char) current);
+                    break;
+                case 'b':
+                    captureBuffer.append('\b');
+                    break;
+                case 'f':
+                    captureBuffer.append('\f');
+                    break;
+                case 'n':
+                    captureBuffer.append('\n');
+                    break;
+                case 'r':
+                    captureBuffer.append('\r');
+                    break;
+                case 't':
+                    captureBuffer.append('\t');
+                    break;
+                case 'u':
+                    char[] hexChars = new char[4];
+                    boolean isHexCharsDigits = true;
+                    for (int i = 0; i < 4; i++) {
+                        read();
+                        if (!isHexDigit()) {
+                            isHexCharsDigits = false;
+                        }
+                        hexChars[i] = (char) current;
+                    }
+                    if (isHexCharsDigits) {
+                        captureBuffer.append((char) Integer.parseInt(new String(hexChars), 16));
+                    } else {
+                        captureBuffer
+                                .append("\\u")
+                                .append(hexChars[0])
+                                .append(hexChars[1])
+                                .append(hexChars[2])
+                                .append(hexChars[3]);
+                    }
+                    break;
+                default:
+                    throw expected("valid escape sequence");
+            }
+            read();
+        }
+
+        String readNumberText() {
+            startCapture();
+            readChar('-');
+            int firstDigit = current;
+            if (!readDigit()) {
+                throw expected(DIGIT);
+            }
+            if (firstDigit != '0') {
+                while (readDigit()) {
+                    // ignored
+                }
+            }
+            if (readChar('.')) {
+                readDigits();
+            }
+            if (readChar('e') || readChar('E')) {
+                if (!readChar('+')) {
+                    readChar('-');
+                }
+                readDigits();
+            }
+            return endCapture();
+        }
+
+        void readDigits() {
+            if (!readDigit()) {
+                throw expected(DIGIT);
+            }
+            while (readDigit()) {
+                // ignored
+            }
+        }
+
+        boolean readChar(char ch) {
+            if (current != ch) {
+                return false;
+            }
+            read();
+            return true;
+        }
+
+        boolean readDigit() {
+            if (!isDigit()) {
+                return false;
+            }
+            read();
+            return true;
+        }
+
+        void skipWhiteSpace() {
+            while (isWhiteSpace()) {
+                read();
+            }
+        }
+
+        ParseException expected(String expected) {
+            if (isEndOfText()) {
+                return error("Unexpected end of input");
+            }
+            return error("Expected " + expected);
+        }
+
+        boolean isWhiteSpace() {
+            return current == ' ' || current == '\t' || current == '\n' || current == '\r';
+        }
+
+        boolean isDigit() {
+            return current >= '0' && current <= '9';
+        }
+
+        boolean isHexDigit() {
+            return isDigit()
+                    || current >= 'a' && current <= 'f'
+                    || current >= 'A' && current <= 'F';
+        }
+
+        boolean isEndOfText() {
+            return current == -1;
+        }
+    }
+
+    abstract static class JsonTreeParser extends JsonScanner {
+        int index;
+        final int maxDepth;
+        final KeyCache keyCache;
+        final boolean compactMaps;
+        final boolean primitiveArrays;
+        private int numberType;
+        private boolean openArray;
+        private long longValue;
+        private double doubleValue;
+        private Number otherValue;
+
+        JsonTreeParser(int maxDepth, KeyCache keyCache, boolean compactMaps, boolean primitiveArrays) {
+            this.maxDepth = maxDepth;
+            this.keyCache = keyCache;
+            this.compactMaps = compactMaps;
+            this.primitiveArrays = primitiveArrays;
+        }
+
+        JsonTreeParser(ParseOptions options) {
+            this(
+                    options.getMaxDepth(),
+                    options.createKeyCache(),
+                    options.isCompactMaps(),
+                    options.isPrimitiveArrays());
+        }
+
+        abstract String substring(int from, int to);
+
+        abstract int charAt(int index);
+
+        abstract String internName(int from, int to);
+
+        public Object parse() {
+            read();
+            skipWhiteSpace();
+            final Object result = readValue(0);
+            skipWhiteSpace();
+            if (!isEndOfText()) {
+                throw error("Unexpected character");
+            }
+            return result;
+        }
+
+        public Object parseIterative() {
+            read();
+            skipWhiteSpace();
+            final Object result = readValueIterative();
+            skipWhiteSpace();
+            if (!isEndOfText()) {
+                throw error("Unexpected character");
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        Object readValueIterative() {
+            final List<Object> stack = new ArrayList<>();
+            Object root = null;
+            String name = null;
+            while (true) {
+                final Object value;
+                boolean valueExpected = false;
+                if (current == '{' || current == '[') {
+                    if (stack.size() > maxDepth) {
+                        throw error("Maximum depth exceeded");
+                    }
+                    final boolean isObject = current == '{';
+                    read();
+                    skipWhiteSpace();
+                    if (!isObject && primitiveArrays && isNumberStart()) {
+                        value = readNumberArray(stack.size() + 1, true);
+                        valueExpected = openArray;
+                    } else {
+                        value = isObject ? createMap() : new ArrayList<>();
+                        if (!readChar(isObject ? '}' : ']')) {
+                            valueExpected = true;
+                        }
+                    }
+                } else {
+                    value = readValue(stack.size());
+                }
+                if (stack.isEmpty()) {
+                    root = value;
+                } else {
+                    final Object parent = stack.get(stack.size() - 1);
+                    if (parent instanceof Map) {
+                        ((Map<String, Object>) parent).put(name, value);
+                    } else {
+                        ((List<Object>) parent).add(value);
+                    }
+                }
+                if (valueExpected) {
+                    stack.add(value);
+                    if (value instanceof Map) {
+                        name = readMemberName();
+                    }
+                    continue;
+                }
+                while (!stack.isEmpty()) {
+                    skipWhiteSpace();
+                    final boolean inObject = stack.get(stack.size() - 1) instanceof Map;
+                    if (readChar(',')) {
+                        skipWhiteSpace();
+                        if (inObject) {
+                            name = readMemberName();
+                        }
+                        break;
+                    }
+                    if (!readChar(inObject ? '}' : ']')) {
+                        throw expected(inObject ? "',' or '}'" : "',' or ']'");
+                    }
+                    stack.remove(stack.size() - 1);
+                }
+                if (stack.isEmpty()) {
+                    return root;
+                }
+            }
+        }
+
+        String readMemberName() {
+            final String name = readName();
+            skipWhiteSpace();
+            if (!readChar(':')) {
+                throw expected("':'");
+            }
+            skipWhiteSpace();
+            return name;
+        }
+
+        Object readValue(int depth) {
+            if (depth > maxDepth) {
+                throw error("Maximum depth exceeded");
+            }
+            switch (current) {
+                case 'n':
+                    return readNull();
+                case 't':
+                    return readTrue();
+                case 'f':
+                    return readFalse();
+                case '"':
+                    return readString();
+                case '[':
+                    return readArray(depth + 1);
+                case '{':
+                    return readObject(depth + 1);
+                case '-':
+                case '0':
+                case '1':
+                case '2':
+                case '3':
+                case '4':
+                case '5':
+                case '6':
+                case '7':
+                case '8':
+                case '9':
+                    return readNumber();
+                default:
+                    throw expected("value");
+            }
+        }
+
+        List<Object> readArray(int depth) {
+            read();
+            skipWhiteSpace();
+            if (primitiveArrays && isNumberStart()) {
+                return readNumberArray(depth, false);
+            }
+            List<Object> array = new ArrayList<>();
+            if (readChar(']')) {
+                return array;
+            }
+            do {
+                skipWhiteSpace();
+                array.add(readValue(depth));
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar(']')) {
+                throw expected("',' or ']'");
+            }
+            return array;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object> readNumberArray(int depth, boolean iterative) {
+            if (depth > maxDepth) {
+                throw error("Maximum depth exceeded");
+            }
+            openArray = false;
+            scanNumber();
+            final int type = numberType;
+            long[] longs = type == LONG_NUMBER ? new long[8] : null;
+            double[] doubles = type == DOUBLE_NUMBER ? new double[8] : null;
+            int size = 0;
+            while (numberType == type && type != OTHER_NUMBER) {
+                if (longs != null) {
+                    if (size == longs.length) {
+                        longs = Arrays.copyOf(longs, size * 2);
+                    }
+                    longs[size++] = longValue;
+                } else {
+                    if (size == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, size * 2);
+                    }
+                    doubles[size++] = doubleValue;
+                }
+                skipWhiteSpace();
+                if (!readChar(',')) {
+                    if (!readChar(']')) {
+                        throw expected("',' or ']'");
+                    }
+                    return longs != null
+                            ? (List) new LongList(longs, size)
+                            : (List) new DoubleList(doubles, size);
+                }
+                skipWhiteSpace();
+                if (!isNumberStart()) {
+                    final List<Object> array = toObjectList(longs, doubles, size);
+                    if (iterative) {
+                        openArray = true;
+                        return array;
+                    }
+                    array.add(readValue(depth));
+                    return finishArray(array, depth);
+                }
+                scanNumber();
+            }
+            final List<Object> array = toObjectList(longs, doubles, size);
+            array.add(numberValue());
+            if (iterative) {
+                skipWhiteSpace();
+                if (readChar(',')) {
+                    skipWhiteSpace();
+                    openArray = true;
+                } else if (!readChar(']')) {
+                    throw expected("',' or ']'");
+                }
+                return array;
+            }
+            return finishArray(array, depth);
+        }
+
+        private static List<Object> toObjectList(long[] longs, double[] doubles, int size) {
+            final List<Object> array = new ArrayList<>(size + 1);
+            for (int index = 0; index < size; index++) {
+                array.add(longs != null ? (Object) longs[index] : (Object) doubles[index]);
+            }
+            return array;
+        }
+
+        List<Object> finishArray(List<Object> array, int depth) {
+            skipWhiteSpace();
+            while (readChar(',')) {
+                skipWhiteSpace();
+                array.add(readValue(depth));
+                skipWhiteSpace();
+            }
+            if (!readChar(']')) {
+                throw expected("',' or ']'");
+            }
+            return array;
+        }
+
+        boolean isNumberStart() {
+            return current == '-' || isDigit();
+        }
+
+        Map<String, Object> readObject(int depth) {
+            read();
+            Map<String, Object> object = createMap();
+            skipWhiteSpace();
+            if (readChar('}')) {
+                return object;
+            }
+            do {
+                skipWhiteSpace();
+                String name = readName();
+                skipWhiteSpace();
+                if (!readChar(':')) {
+                    throw expected("':'");
+                }
+                skipWhiteSpace();
+                object.put(name, readValue(depth));
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar('}')) {
+                throw expected("',' or '}'");
+            }
+            return object;
+        }
+
+        Map<String, Object> createMap() {
+            return compactMaps ? new CompactMap<>() : new LinkedHashMap<>();
+        }
+
+        String readName() {
+            if (current != '"') {
+                throw expected("name");
+            }
+            if (keyCache == null) {
+                return readString();
+            }
+            scanString();
+            final String name;
+            if (captureBuffer.length() > 0) {
+                name = keyCache.intern(endCapture());
+            } else {
+                name = internName(captureStart, index - 1);
+                captureStart = -1;
+            }
+            read();
+            return name;
+        }
+
+        Number readNumber() {
+            scanNumber();
+            return numberValue();
+        }
+
+        Number numberValue() {
+            if (numberType == LONG_NUMBER) {
+                return longValue;
+            }
+            if (numberType == DOUBLE_NUMBER) {
+                return doubleValue;
+            }
+            return otherValue;
+        }
+
+        void scanNumber() {
+            final int start = index - 1;
+            final boolean negative = readChar('-');
+            final int firstDigit = current;
+            if (!isDigit()) {
+                throw expected(DIGIT);
+            }
+            long mantissa = 0;
+            boolean overflow = false;
+            do {
+                if (mantissa <= MAX_SAFE_MANTISSA) {
+                    mantissa = mantissa * 10 + (current - '0');
+                } else {
+                    overflow = true;
+                }
+                read();
+            } while (firstDigit != '0' && isDigit());
+            int dotIndex = -1;
+            int fractionDigits = 0;
+            if (current == '.') {
+                dotIndex = index - 1;
+                read();
+                if (!isDigit()) {
+                    throw expected(DIGIT);
+                }
+                do {
+                    if (mantissa <= MAX_SAFE_MANTISSA) {
+                        mantissa = mantissa * 10 + (current - '0');
+                        fractionDigits++;
+                    } else {
+                        overflow = true;
+                    }
+                    read();
+                } while (isDigit());
+            }
+            int exponent = 0;
+            boolean hasExponent = false;
+            if (current == 'e' || current == 'E') {
+                hasExponent = true;
+                read();
+                final boolean negativeExponent = current == '-';
+                if (!readChar('+')) {
+                    readChar('-');
+                }
+                if (!isDigit()) {
+                    throw expected(DIGIT);
+                }
+                do {
+                    if (exponent < MAX_FAST_EXPONENT) {
+                        exponent = exponent * 10 + (current - '0');
+                    }
+                    read();
+                } while (isDigit());
+                if (negativeExponent) {
+                    exponent = -exponent;
+                }
+            }
+            final int end = current == -1 ? index : index - 1;
+            final int length = end - start;
+            if (dotIndex == -1 && !hasExponent) {
+                if (length > 19 || overflow) {
+                    setOtherNumber(createNumber(substring(start, end)));
+                    return;
+                }
+                numberType = LONG_NUMBER;
+                longValue = negative ? -mantissa : mantissa;
+                return;
+            }
+            final int scale = exponent - fractionDigits;
+            if (length > 9
+                    || overflow
+                    || dotIndex != -1 && end - dotIndex > 2 && charAt(end - 1) == '0'
+                    || scale < -MAX_EXACT_POWER_OF_TEN
+                    || scale > MAX_EXACT_POWER_OF_TEN) {
+                setOtherNumber(createNumber(substring(start, end)));
+                return;
+            }
+            final double value =
+                    scale < 0
+                            ? mantissa / POWERS_OF_TEN[-scale]
+                            : mantissa * POWERS_OF_TEN[scale];
+            numberType = DOUBLE_NUMBER;
+            doubleValue = negative ? -value : value;
+        }
+
+        void setOtherNumber(Number number) {
+            if (number instanceof Long) {
+                numberType = LONG_NUMBER;
+                longValue = number.longValue();
+            } else if (number instanceof Double) {
+                numberType = DOUBLE_NUMBER;
+                doubleValue = number.doubleValue();
+            } else {
+                numberType = OTHER_NUMBER;
+                otherValue = number;
+            }
+        }
+    }
+
+    public static class JsonParser extends JsonTreeParser {
+        private String json;
+
+        public JsonParser(String string, int maxDepth) {
+            super(maxDepth, null, false, false);
+            this.json = string;
+        }
+
+        public JsonParser(String string, ParseOptions options) {
+            super(options);
+            this.json = string;
+        }
+
+        public Object parse(String string) {
+            reset(string);
+            try {
+                return parse();
+            } finally {
+                json = "";
+            }
+        }
+
+        private void reset(String string) {
+            json = string;
+            index = 0;
+            line = 1;
+            lineOffset = 0;
+            current = 0;
+            captureStart = -1;
+            if (captureBuffer.capacity() > MAX_RETAINED_CAPACITY) {
+                captureBuffer = new StringBuilder();
+            } else {
+                captureBuffer.setLength(0);
+            }
+        }
+
+        public Object parseSelected(Collection<List<String>> paths) {
+            read();
+            skipWhiteSpace();
+            final Object result = readSelected(PathNode.of(paths), 0);
+            skipWhiteSpace();
+            if (!isEndOfText()) {
+                throw error("Unexpected character");
+            }
+            return result == PathNode.SKIPPED ? null : result;
+        }
+
+        Object parseValueAt(int offset, int end) {
+            index = offset;
+            read();
+            final Object result = readValue(0);
+            if ((isEndOfText() ? index : index - 1) != end) {
+                throw error("Unexpected character");
+            }
+            return result;
+        }
+
+        private Object readSelected(PathNode node, int depth) {
+            if (node.isTerminal()) {
+                return readValue(depth);
+            }
+            if (depth > maxDepth) {
+                throw error("Maximum depth exceeded");
+            }
+            if (current == '{') {
+                return readSelectedObject(node, depth + 1);
+            }
+            if (current == '[') {
+                return readSelectedArray(node, depth + 1);
+            }
+            skipValue();
+            return PathNode.SKIPPED;
+        }
+
+        private Map<String, Object> readSelectedObject(PathNode node, int depth) {
+            read();
+            Map<String, Object> object = createMap();
+            skipWhiteSpace();
+            if (readChar('}')) {
+                return object;
+            }
+            do {
+                skipWhiteSpace();
+                String name = readName();
+                skipWhiteSpace();
+                if (!readChar(':')) {
+                    throw expected("':'");
+                }
+                skipWhiteSpace();
+                final PathNode child = node.child(name);
+                if (child == null) {
+                    skipValue();
+                } else {
+                    final Object value = readSelected(child, depth);
+                    if (value != PathNode.SKIPPED) {
+                        object.put(name, value);
+                    }
+                }
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar('}')) {
+                throw expected("',' or '}'");
+            }
+            return object;
+        }
+
+        private List<Object> readSelectedArray(PathNode node, int depth) {
+            read();
+            List<Object> array = new ArrayList<>();
+            skipWhiteSpace();
+            if (readChar(']')) {
+                return array;
+            }
+            int position = 0;
+            int skipped = 0;
+            do {
+                skipWhiteSpace();
+                final PathNode child = node.element(position++);
+                final Object value;
+                if (child == null) {
+                    skipValue();
+                    value = PathNode.SKIPPED;
+                } else {
+                    value = readSelected(child, depth);
+                }
+                if (value == PathNode.SKIPPED) {
+                    skipped++;
+                } else {
+                    for (; skipped > 0; skipped--) {
+                        array.add(null);
+                    }
+                    array.add(value);
+                }
+                skipWhiteSpace();
             } while (readChar(','));
             if (!readChar(']')) {
                 throw expected("',' or ']'");
             }
-            return array;
+            return array;
+        }
+
+        private void skipValue() {
+            if (current == '"') {
+                skipString();
+                return;
+            }
+            if (current != '{' && current != '[') {
+                if (isNumberStart()) {
+                    skipNumber();
+                } else {
+                    readValue(0);
+                }
+                return;
+            }
+            char[] closers = new char[16];
+            int nesting = 0;
+            do {
+                if (current == '"') {
+                    skipString();
+                    continue;
+                }
+                if (current == '{' || current == '[') {
+                    if (nesting == maxDepth) {
+                        throw error("Maximum depth exceeded");
+                    }
+                    if (nesting == closers.length) {
+                        closers = Arrays.copyOf(closers, nesting * 2);
+                    }
+                    closers[nesting++] = current == '{' ? '}' : ']';
+                } else if (current == '}' || current == ']') {
+                    if (current != closers[nesting - 1]) {
+                        throw expected("'" + closers[nesting - 1] + "'");
+                    }
+                    nesting--;
+                } else if (isEndOfText()) {
+                    throw error("Unexpected end of input");
+                }
+                read();
+            } while (nesting > 0);
+        }
+
+        private void skipNumber() {
+            do {
+                read();
+            } while (isDigit()
+                    || current == '.'
+                    || current == 'e'
+                    || current == 'E'
+                    || current == '+'
+                    || current == '-');
+        }
+
+        private void skipString() {
+            read();
+            while (current != '"') {
+                if (isEndOfText()) {
+                    throw error("Unexpected end of input");
+                }
+                if (current == '\\') {
+                    read();
+                }
+                read();
+            }
+            read();
+        }
+
+        @Override
+        String substring(int from, int to) {
+            return json.substring(from, to);
+        }
+
+        @Override
+        int charAt(int index) {
+            return json.charAt(index);
+        }
+
+        @Override
+        String internName(int from, int to) {
+            return keyCache.intern(json, from, to);
+        }
+
+        @Override
+        void read() {
+            if (index == json.length()) {
+                current = -1;
+                return;
+            }
+            if (current == '\n') {
+                line++;
+                lineOffset = index;
+            }
+            current = json.charAt(index++);
+        }
+
+        @Override
+        void startCapture() {
+            captureStart = index - 1;
+        }
+
+        @Override
+        void pauseCapture() {
+            captureBuffer.append(json, captureStart, index - 1);
+            captureStart = -1;
+        }
+
+        @Override
+        String endCapture() {
+            int end = current == -1 ? index : index - 1;
+            String captured;
+            if (captureBuffer.length() > 0) {
+                captureBuffer.append(json, captureStart, end);
+                captured = captureBuffer.toString();
+                captureBuffer.setLength(0);
+            } else {
+                captured = json.substring(captureStart, end);
+            }
+            captureStart = -1;
+            return captured;
+        }
+
+        @Override
+        ParseException error(String message) {
+            int absIndex = index;
+            int column = absIndex - lineOffset;
+            int offset = isEndOfText() ? absIndex : absIndex - 1;
+            return new ParseException(message, offset, line, column - 1);
+        }
+
+    }
+
+    private static final class PathNode {
+        static final Object SKIPPED = new Object();
+        private static final String ROOT = "$";
+        private static final String WILDCARD = "*";
+        private final Map<String, PathNode> children = new HashMap<>();
+        private PathNode wildcard;
+        private boolean terminal;
+
+        static PathNode of(Collection<List<String>> paths) {
+            final PathNode root = new PathNode();
+            for (List<String> path : paths) {
+                PathNode node = root;
+                for (int index = 0; index < path.size(); index++) {
+                    final String segment = path.get(index);
+                    if (index == 0 && ROOT.equals(segment)) {
+                        continue;
+                    }
+                    if (WILDCARD.equals(segment)) {
+                        if (node.wildcard == null) {
+                            node.wildcard = new PathNode();
+                        }
+                        node = node.wildcard;
+                    } else {
+                        node = node.children.computeIfAbsent(segment, key -> new PathNode());
+                    }
+                }
+                node.terminal = true;
+            }
+            return root;
+        }
+
+        boolean isTerminal() {
+            return terminal;
+        }
+
+        PathNode child(String name) {
+            final PathNode exact = children.get(name);
+            if (exact == null) {
+                return wildcard;
+            }
+            return wildcard == null ? exact : merge(exact, wildcard);
+        }
+
+        PathNode element(int position) {
+            return children.isEmpty() ? wildcard : child(String.valueOf(position));
+        }
+
+        private static PathNode merge(PathNode first, PathNode second) {
+            final PathNode result = new PathNode();
+            result.terminal = first.terminal || second.terminal;
+            result.children.putAll(first.children);
+            second.children.forEach((key, node) -> result.children.merge(key, node, PathNode::merge));
+            if (first.wildcard == null || second.wildcard == null) {
+                result.wildcard = first.wildcard == null ? second.wildcard : first.wildcard;
+            } else {
+                result.wildcard = merge(first.wildcard, second.wildcard);
+            }
+            return result;
+        }
+    }
+
+    public static class JsonByteParser extends JsonTreeParser {
+        private final byte[] json;
+        private final int start;
+        private final int end;
+        private boolean captureAscii;
+
+        public JsonByteParser(byte[] bytes, int offset, int length, int maxDepth) {
+            this(bytes, offset, length, new ParseOptions().maxDepth(maxDepth));
+        }
+
+        public JsonByteParser(byte[] bytes, int offset, int length, ParseOptions options) {
+            super(options);
+            this.json = bytes;
+            final boolean hasBom =
+                    length >= 3
+                            && bytes[offset] == (byte) 0xEF
+                            && bytes[offset + 1] == (byte) 0xBB
+                            && bytes[offset + 2] == (byte) 0xBF;
+            start = hasBom ? offset + 3 : offset;
+            end = offset + length;
+            index = start;
+            lineOffset = start;
+        }
+
+        public JsonByteParser(byte[] bytes, int maxDepth) {
+            this(bytes, 0, bytes.length, maxDepth);
+        }
+
+        public JsonByteParser(byte[] bytes, ParseOptions options) {
+            this(bytes, 0, bytes.length, options);
+        }
+
+        public JsonByteParser(ByteBuffer buffer, int maxDepth) {
+            this(
+                    toArray(buffer),
+                    buffer.hasArray() ? buffer.arrayOffset() + buffer.position() : 0,
+                    buffer.remaining(),
+                    maxDepth);
+        }
+
+        private static byte[] toArray(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return buffer.array();
+            }
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
+
+        @Override
+        void scanString() {
+            read();
+            startCapture();
+            while (current != '"') {
+                if (current == '\\') {
+                    pauseCapture();
+                    readEscape();
+                    startCapture();
+                } else if (current < 0x20) {
+                    throw expected("valid string character");
+                } else {
+                    if (current >= 0x80) {
+                        captureAscii = false;
+                    }
+                    read();
+                }
+            }
+        }
+
+        @Override
+        String substring(int from, int to) {
+            return new String(json, from, to - from, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        int charAt(int index) {
+            return json[index] & 0xFF;
+        }
+
+        @Override
+        String internName(int from, int to) {
+            return keyCache.intern(decode(from, to));
+        }
+
+        @Override
+        void read() {
+            if (index == end) {
+                current = -1;
+                return;
+            }
+            if (current == '\n') {
+                line++;
+                lineOffset = index;
+            }
+            current = json[index++] & 0xFF;
+        }
+
+        @Override
+        void startCapture() {
+            captureStart = index - 1;
+            captureAscii = true;
+        }
+
+        @Override
+        void pauseCapture() {
+            captureBuffer.append(decode(captureStart, index - 1));
+            captureStart = -1;
+        }
+
+        @Override
+        String endCapture() {
+            int captureEnd = current == -1 ? index : index - 1;
+            String captured;
+            if (captureBuffer.length() > 0) {
+                captureBuffer.append(decode(captureStart, captureEnd));
+                captured = captureBuffer.toString();
+                captureBuffer.setLength(0);
+            } else {
+                captured = decode(captureStart, captureEnd);
+            }
+            captureStart = -1;
+            return captured;
+        }
+
+        private String decode(int from, int to) {
+            return new String(
+                    json,
+                    from,
+                    to - from,
+                    captureAscii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        }
+
+        @Override
+        ParseException error(String message) {
+            int position = isEndOfText() ? index : index - 1;
+            int column = countChars(lineOffset, position);
+            return new ParseException(
+                    message,
+                    countChars(start, position),
+                    line,
+                    isEndOfText() ? column - 1 : column);
+        }
+
+        private int countChars(int from, int to) {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                final int value = json[i] & 0xFF;
+                if ((value & 0xC0) != 0x80) {
+                    count += value >= 0xF0 ? 2 : 1;
+                }
+            }
+            return count;
         }
+    }
 
-        private Map<String, Object> readObject(int depth) {
-            read();
-            Map<String, Object> object = new LinkedHashMap<>();
-            skipWhiteSpace();
-            if (readChar('}')) {
-                return object;
+    private static final class LazyIndex {
+        private final String json;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int count;
+
+        LazyIndex(String json) {
+            this.json = json;
+            int[] stack = new int[16];
+            int depth = 0;
+            final int length = json.length();
+            for (int index = 0; index < length; index++) {
+                final char ch = json.charAt(index);
+                if (ch == '"') {
+                    index = stringEnd(index);
+                } else if (ch == '{' || ch == '[') {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    starts[count] = index;
+                    stack[depth++] = count++;
+                } else if (ch == '}' || ch == ']') {
+                    if (depth == 0
+                            || json.charAt(starts[stack[depth - 1]]) != (ch == '}' ? '{' : '[')) {
+                        throw error("Unexpected character", index);
+                    }
+                    ends[stack[--depth]] = index;
+                }
             }
-            do {
+            if (depth != 0) {
+                throw error("Unexpected end of input", length);
+            }
+        }
+
+        Object root() {
+            final int start = skipWhiteSpace(0);
+            if (start == json.length()) {
+                throw error("Unexpected end of input", start);
+            }
+            if (skipWhiteSpace(valueEnd(start)) != json.length()) {
+                throw error("Unexpected character", skipWhiteSpace(valueEnd(start)));
+            }
+            return valueAt(start);
+        }
+
+        Object valueAt(int offset) {
+            final char ch = json.charAt(offset);
+            if (ch == '{') {
+                return new LazyObject(this, offset);
+            }
+            if (ch == '[') {
+                return new LazyArray(this, offset);
+            }
+            final int end = valueEnd(offset);
+            switch (ch) {
+                case '"':
+                    if (isPlainString(offset + 1, end - 1)) {
+                        return json.substring(offset + 1, end - 1);
+                    }
+                    break;
+                case 't':
+                    if (isLiteral(offset, end, "true")) {
+                        return Boolean.TRUE;
+                    }
+                    break;
+                case 'f':
+                    if (isLiteral(offset, end, "false")) {
+                        return Boolean.FALSE;
+                    }
+                    break;
+                case 'n':
+                    if (isLiteral(offset, end, NULL)) {
+                        return null;
+                    }
+                    break;
+                default:
+                    if (isNumber(offset, end)) {
+                        return numberAt(offset, end);
+                    }
+                    break;
+            }
+            return new JsonParser(json, PARSE_MAX_DEPTH).parseValueAt(offset, end);
+        }
+
+        private boolean isPlainString(int from, int to) {
+            for (int index = from; index < to; index++) {
+                final char ch = json.charAt(index);
+                if (ch == '\\' || ch < 0x20) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isLiteral(int from, int to, String literal) {
+            return to - from == literal.length() && json.startsWith(literal, from);
+        }
+
+        private boolean isNumber(int from, int to) {
+            int index = json.charAt(from) == '-' ? from + 1 : from;
+            final int integerStart = index;
+            index = skipDigits(index, to);
+            if (index == integerStart
+                    || json.charAt(integerStart) == '0' && index - integerStart > 1) {
+                return false;
+            }
+            if (index < to && json.charAt(index) == '.') {
+                final int fractionStart = index + 1;
+                index = skipDigits(fractionStart, to);
+                if (index == fractionStart) {
+                    return false;
+                }
+            }
+            if (index < to && (json.charAt(index) == 'e' || json.charAt(index) == 'E')) {
+                index++;
+                if (index < to && (json.charAt(index) == '+' || json.charAt(index) == '-')) {
+                    index++;
+                }
+                final int exponentStart = index;
+                index = skipDigits(exponentStart, to);
+                if (index == exponentStart) {
+                    return false;
+                }
+            }
+            return index == to;
+        }
+
+        private int skipDigits(int from, int to) {
+            int index = from;
+            while (index < to && json.charAt(index) >= '0' && json.charAt(index) <= '9') {
+                index++;
+            }
+            return index;
+        }
+
+        private Number numberAt(int from, int to) {
+            final boolean negative = json.charAt(from) == '-';
+            final int digitsStart = negative ? from + 1 : from;
+            if (to - digitsStart > 18 || skipDigits(digitsStart, to) != to) {
+                return createNumber(json.substring(from, to));
+            }
+            long value = 0;
+            for (int index = digitsStart; index < to; index++) {
+                value = value * 10 + (json.charAt(index) - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        int valueEnd(int offset) {
+            final int ch = charAt(offset);
+            if (ch == '{' || ch == '[') {
+                return ends[Arrays.binarySearch(starts, 0, count, offset)] + 1;
+            }
+            if (ch == '"') {
+                return stringEnd(offset) + 1;
+            }
+            int index = offset;
+            while (index < json.length() && ",:}] \t\n\r".indexOf(json.charAt(index)) == -1) {
+                index++;
+            }
+            if (index == offset) {
+                throw error(offset == json.length() ? "Unexpected end of input" : "Expected value", offset);
+            }
+            return index;
+        }
+
+        int stringEnd(int offset) {
+            final int length = json.length();
+            int index = offset + 1;
+            while (index < length) {
+                final char ch = json.charAt(index);
+                if (ch == '"') {
+                    return index;
+                }
+                index += ch == '\\' ? 2 : 1;
+            }
+            throw error("Unexpected end of input", length);
+        }
+
+        String nameAt(int offset) {
+            if (charAt(offset) != '"') {
+                throw error("Expected name", offset);
+            }
+            final int end = stringEnd(offset);
+            for (int index = offset + 1; index < end; index++) {
+                if (json.charAt(index) == '\\') {
+                    return (String)
+                            new JsonParser(json, PARSE_MAX_DEPTH).parseValueAt(offset, end + 1);
+                }
+            }
+            return json.substring(offset + 1, end);
+        }
+
+        int skipWhiteSpace(int offset) {
+            int index = offset;
+            while (index < json.length()) {
+                final char ch = json.charAt(index);
+                if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+                    break;
+                }
+                index++;
+            }
+            return index;
+        }
+
+        int charAt(int offset) {
+            return offset < json.length() ? json.charAt(offset) : -1;
+        }
+
+        ParseException error(String message, int offset) {
+            int line = 1;
+            int lineOffset = 0;
+            for (int index = 0; index < offset && index < json.length(); index++) {
+                if (json.charAt(index) == '\n') {
+                    line++;
+                    lineOffset = index + 1;
+                }
+            }
+            return new ParseException(message, offset, line, offset - lineOffset);
+        }
+    }
+
+    private static final class LazyObject extends AbstractMap<String, Object> {
+        private static final Object UNDEFINED = new Object();
+        private static final int LINEAR_SEARCH_LIMIT = 8;
+        private final LazyIndex index;
+        private String[] keys = new String[4];
+        private int[] offsets = new int[4];
+        private Object[] values;
+        private int size;
+        private Map<String, Integer> positions;
+
+        LazyObject(LazyIndex index, int offset) {
+            this.index = index;
+            int position = index.skipWhiteSpace(offset + 1);
+            if (index.charAt(position) != '}') {
+                while (true) {
+                    final String key = index.nameAt(position);
+                    position = index.skipWhiteSpace(index.stringEnd(position) + 1);
+                    if (index.charAt(position) != ':') {
+                        throw index.error("Expected ':'", position);
+                    }
+                    position = index.skipWhiteSpace(position + 1);
+                    add(key, position);
+                    position = index.skipWhiteSpace(index.valueEnd(position));
+                    if (index.charAt(position) == '}') {
+                        break;
+                    }
+                    if (index.charAt(position) != ',') {
+                        throw index.error("Expected ',' or '}'", position);
+                    }
+                    position = index.skipWhiteSpace(position + 1);
+                }
+            }
+            values = new Object[size];
+            Arrays.fill(values, UNDEFINED);
+        }
+
+        private void add(String key, int offset) {
+            final int existing = indexOf(key);
+            if (existing != -1) {
+                offsets[existing] = offset;
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            keys[size] = key;
+            offsets[size] = offset;
+            if (positions != null) {
+                positions.put(key, size);
+            } else if (size == LINEAR_SEARCH_LIMIT) {
+                positions = new HashMap<>();
+                for (int position = 0; position <= size; position++) {
+                    positions.put(keys[position], position);
+                }
+            }
+            size++;
+        }
+
+        private int indexOf(Object key) {
+            if (positions != null) {
+                final Integer position = positions.get(key);
+                return position == null ? -1 : position;
+            }
+            for (int position = 0; position < size; position++) {
+                if (keys[position].equals(key)) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        private Object valueAt(int position) {
+            if (values[position] == UNDEFINED) {
+                values[position] = index.valueAt(offsets[position]);
+            }
+            return values[position];
+        }
+
+        @Override
+        public Object get(Object key) {
+            final int position = indexOf(key);
+            return position == -1 ? null : valueAt(position);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < size;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next() {
+                            if (position >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            final int current = position++;
+                            return new AbstractMap.SimpleImmutableEntry<>(
+                                    keys[current], valueAt(current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    private static final class LazyArray extends AbstractList<Object> implements RandomAccess {
+        private static final Object UNDEFINED = new Object();
+        private final LazyIndex index;
+        private int[] offsets = new int[4];
+        private final Object[] values;
+        private int size;
+
+        LazyArray(LazyIndex index, int offset) {
+            this.index = index;
+            int position = index.skipWhiteSpace(offset + 1);
+            if (index.charAt(position) != ']') {
+                while (true) {
+                    if (size == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                    }
+                    offsets[size++] = position;
+                    position = index.skipWhiteSpace(index.valueEnd(position));
+                    if (index.charAt(position) == ']') {
+                        break;
+                    }
+                    if (index.charAt(position) != ',') {
+                        throw index.error("Expected ',' or ']'", position);
+                    }
+                    position = index.skipWhiteSpace(position + 1);
+                }
+            }
+            values = new Object[size];
+            Arrays.fill(values, UNDEFINED);
+        }
+
+        @Override
+        public Object get(int position) {
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+            }
+            if (values[position] == UNDEFINED) {
+                values[position] = index.valueAt(offsets[position]);
+            }
+            return values[position];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    public static class JsonLinesReader implements Iterator<Object>, Closeable {
+        private static final int DEFAULT_BUFFER_SIZE = 65536;
+        private final InputStream inputStream;
+        private final int maxDepth;
+        private byte[] buffer;
+        private int start;
+        private int end;
+        private int lineStart;
+        private int lineLength;
+        private boolean hasLine;
+        private boolean endOfInput;
+
+        public JsonLinesReader(InputStream inputStream, int bufferSize, int maxDepth) {
+            this.inputStream = inputStream;
+            this.buffer = new byte[Math.max(1, bufferSize)];
+            this.maxDepth = maxDepth;
+        }
+
+        public JsonLinesReader(InputStream inputStream) {
+            this(inputStream, DEFAULT_BUFFER_SIZE, PARSE_MAX_DEPTH);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasLine) {
+                hasLine = findLine();
+            }
+            return hasLine;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasLine = false;
+            return new JsonByteParser(buffer, lineStart, lineLength, maxDepth).parse();
+        }
+
+        byte[] nextLine() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasLine = false;
+            return Arrays.copyOfRange(buffer, lineStart, lineStart + lineLength);
+        }
+
+        int getMaxDepth() {
+            return maxDepth;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+
+        private boolean findLine() {
+            int scan = start;
+            while (true) {
+                while (scan < end && buffer[scan] != '\n') {
+                    scan++;
+                }
+                if (scan < end || endOfInput) {
+                    if (start == end) {
+                        return false;
+                    }
+                    lineStart = start;
+                    lineLength = scan - start;
+                    start = scan < end ? scan + 1 : end;
+                    scan = start;
+                    if (!isBlank(lineStart, lineLength)) {
+                        return true;
+                    }
+                    continue;
+                }
+                final int scanned = scan - start;
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                if (end == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                final int count;
+                try {
+                    count = inputStream.read(buffer, end, buffer.length - end);
+                } catch (IOException ex) {
+                    throw new UnsupportedOperationException(ex);
+                }
+                if (count == -1) {
+                    endOfInput = true;
+                } else {
+                    end += count;
+                }
+                scan = start + scanned;
+            }
+        }
+
+        private boolean isBlank(int from, int length) {
+            for (int index = from; index < from + length; index++) {
+                final byte ch = buffer[index];
+                if (ch != ' ' && ch != '\t' && ch != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class ParallelJsonLinesIterator implements Iterator<Object> {
+        private static final int MAX_PENDING_BATCHES = 16;
+        private final JsonLinesReader reader;
+        private final ExecutorService executor;
+        private final int batchSize;
+        private final Deque<Future<List<Object>>> pending = new ArrayDeque<>();
+        private Iterator<Object> current = Collections.emptyIterator();
+
+        ParallelJsonLinesIterator(JsonLinesReader reader, ExecutorService executor, int batchSize) {
+            this.reader = reader;
+            this.executor = executor;
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                submitBatches();
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = await(pending.poll()).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        void cancel() {
+            for (Future<List<Object>> future : pending) {
+                future.cancel(true);
+            }
+            pending.clear();
+        }
+
+        private void submitBatches() {
+            while (pending.size() < MAX_PENDING_BATCHES && reader.hasNext()) {
+                final List<byte[]> lines = new ArrayList<>(batchSize);
+                while (lines.size() < batchSize && reader.hasNext()) {
+                    lines.add(reader.nextLine());
+                }
+                final int maxDepth = reader.getMaxDepth();
+                pending.add(
+                        executor.submit(
+                                () -> {
+                                    final List<Object> result = new ArrayList<>(lines.size());
+                                    for (byte[] line : lines) {
+                                        result.add(new JsonByteParser(line, maxDepth).parse());
+                                    }
+                                    return result;
+                                }));
+            }
+        }
+
+        private static List<Object> await(Future<List<Object>> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new UnsupportedOperationException(ex);
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new UnsupportedOperationException(ex.getCause());
+            }
+        }
+    }
+
+    public static class JsonLinesWriter implements Closeable, Flushable {
+        private final JsonByteWriter writer;
+
+        public JsonLinesWriter(OutputStream outputStream) {
+            this.writer = new JsonByteWriter(outputStream, JsonStringBuilder.Step.COMPACT);
+        }
+
+        public JsonLinesWriter write(Object value) throws IOException {
+            JsonValue.writeJson(value, writer);
+            writer.append('\n');
+            return this;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    static Number createNumber(final String number) {
+        final Number result;
+        if (number.contains(".") || number.contains("e") || number.contains("E")) {
+            if (number.length() > 9
+                    || (number.contains(".") && number.length() - number.lastIndexOf('.') > 2)
+                            && number.charAt(number.length() - 1) == '0') {
+                result = new BigDecimal(number);
+            } else {
+                result = Double.valueOf(number);
+            }
+        } else {
+            if (number.length() > 19) {
+                result = new BigInteger(number);
+            } else {
+                result = Long.valueOf(number);
+            }
+        }
+        return result;
+    }
+
+    public static class JsonReader extends JsonScanner implements Closeable {
+        public enum Token {
+            START_OBJECT,
+            END_OBJECT,
+            START_ARRAY,
+            END_ARRAY,
+            FIELD_NAME,
+            VALUE_STRING,
+            VALUE_NUMBER,
+            VALUE_TRUE,
+            VALUE_FALSE,
+            VALUE_NULL
+        }
+
+        private static final int DEFAULT_BUFFER_SIZE = 8192;
+        private final Reader reader;
+        private final char[] buffer;
+        private int bufferLength;
+        private int bufferIndex;
+        private int bufferOffset;
+        private boolean[] objects = new boolean[16];
+        private int depth;
+        private boolean started;
+        private Token token;
+        private String text;
+
+        public JsonReader(Reader reader, int bufferSize) {
+            this.reader = reader;
+            this.buffer = new char[bufferSize];
+        }
+
+        public JsonReader(Reader reader) {
+            this(reader, DEFAULT_BUFFER_SIZE);
+        }
+
+        public JsonReader(InputStream inputStream) {
+            this(new InputStreamReader(inputStream, StandardCharsets.UTF_8), DEFAULT_BUFFER_SIZE);
+        }
+
+        public Token nextToken() {
+            if (!started) {
+                started = true;
+                read();
+                if (current == '\uFEFF') {
+                    read();
+                }
                 skipWhiteSpace();
-                String name = readName();
+                return readValueToken();
+            }
+            skipWhiteSpace();
+            if (depth == 0) {
+                if (!isEndOfText()) {
+                    throw error("Unexpected character");
+                }
+                text = null;
+                token = null;
+                return null;
+            }
+            if (token == Token.FIELD_NAME) {
+                return readValueToken();
+            }
+            final boolean first = token == Token.START_OBJECT || token == Token.START_ARRAY;
+            if (objects[depth - 1]) {
+                if (readChar('}')) {
+                    return endContainer(Token.END_OBJECT);
+                }
+                if (!first) {
+                    if (!readChar(',')) {
+                        throw expected("',' or '}'");
+                    }
+                    skipWhiteSpace();
+                }
+                if (current != '"') {
+                    throw expected("name");
+                }
+                text = readString();
                 skipWhiteSpace();
                 if (!readChar(':')) {
                     throw expected("':'");
                 }
                 skipWhiteSpace();
-                object.put(name, readValue(depth));
-                skipWhiteSpace();
-            } while (readChar(','));
-            if (!readChar('}')) {
-                throw expected("',' or '}'");
+                token = Token.FIELD_NAME;
+                return token;
+            }
+            if (readChar(']')) {
+                return endContainer(Token.END_ARRAY);
             }
-            return object;
-        }
-
-        private String readName() {
-            if (current != '"') {
-                throw expected("name");
+            if (!first) {
+                if (!readChar(',')) {
+                    throw expected("',' or ']'");
+                }
+                skipWhiteSpace();
             }
-            return readString();
+            return readValueToken();
         }
 
-        private String readNull() {
-            read();
-            readRequiredChar('u');
-            readRequiredChar('l');
-            readRequiredChar('l');
-            return null;
+        public Token getToken() {
+            return token;
         }
 
-        private Boolean readTrue() {
-            read();
-            readRequiredChar('r');
-            readRequiredChar('u');
-            readRequiredChar('e');
-            return Boolean.TRUE;
+        public String getText() {
+            return text;
         }
 
-        private Boolean readFalse() {
-            read();
-            readRequiredChar('a');
-            readRequiredChar('l');
-            readRequiredChar('s');
-            readRequiredChar('e');
-            return Boolean.FALSE;
+        public int getDepth() {
+            return depth;
         }
 
-        private void readRequiredChar(char ch) {
-            if (!readChar(ch)) {
-                throw expected("'" + ch + "'");
+        public Number getNumber() {
+            if (token != Token.VALUE_NUMBER) {
+                throw new IllegalStateException("Current token is not a number: " + token);
             }
+            return createNumber(text);
         }
 
-        private String readString() {
-            read();
-            startCapture();
-            while (current != '"') {
-                if (current == '\\') {
-                    pauseCapture();
-                    readEscape();
-                    startCapture();
-                } else if (current < 0x20) {
-                    throw expected("valid string character");
-                } else {
-                    read();
-                }
+        public Object getValue() {
+            if (token == null) {
+                throw new IllegalStateException("No current token");
             }
-            String string = endCapture();
-            read();
-            return string;
-        }
-
-        private void readEscape() {
-            read();
-            switch (current) {
-                case '"':
-                case '/':
-                case '\\':
-                    captureBuffer.append((char) current);
-                    break;
-                case 'b':
-                    captureBuffer.append('\b');
-                    break;
-                case 'f':
-                    captureBuffer.append('\f');
-                    break;
-                case 'n':
-                    captureBuffer.append('\n');
-                    break;
-                case 'r':
-                    captureBuffer.append('\r');
-                    break;
-                case 't':
-                    captureBuffer.append('\t');
-                    break;
-                case 'u':
-                    char[] hexChars = new char[4];
-                    boolean isHexCharsDigits = true;
-                    for (int i = 0; i < 4; i++) {
-                        read();
-                        if (!isHexDigit()) {
-                            isHexCharsDigits = false;
-                        }
-                        hexChars[i] = (char) current;
-                    }
-                    if (isHexCharsDigits) {
-                        captureBuffer.append((char) Integer.parseInt(new String(hexChars), 16));
-                    } else {
-                        captureBuffer
-                                .append("\\u")
-                                .append(hexChars[0])
-                                .append(hexChars[1])
-                                .append(hexChars[2])
-                                .append(hexChars[3]);
-                    }
-                    break;
+            switch (token) {
+                case FIELD_NAME:
+                case VALUE_STRING:
+                    return text;
+                case VALUE_NUMBER:
+                    return createNumber(text);
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_NULL:
+                    return null;
                 default:
-                    throw expected("valid escape sequence");
+                    throw new IllegalStateException("Current token is not a value: " + token);
             }
-            read();
         }
 
-        private Number readNumber() {
-            startCapture();
-            readChar('-');
-            int firstDigit = current;
-            if (!readDigit()) {
-                throw expected(DIGIT);
-            }
-            if (firstDigit != '0') {
-                while (readDigit()) {
-                    // ignored
-                }
+        @SuppressWarnings("unchecked")
+        public Object readValue() {
+            if (token != Token.START_OBJECT && token != Token.START_ARRAY) {
+                return getValue();
             }
-            readFraction();
-            readExponent();
-            final String number = endCapture();
-            final Number result;
-            if (number.contains(".") || number.contains("e") || number.contains("E")) {
-                if (number.length() > 9
-                        || (number.contains(".") && number.length() - number.lastIndexOf('.') > 2)
-                                && number.charAt(number.length() - 1) == '0') {
-                    result = new java.math.BigDecimal(number);
+            final List<Object> stack = new ArrayList<>();
+            final Object root = token == Token.START_OBJECT ? new LinkedHashMap<>() : new ArrayList<>();
+            stack.add(root);
+            String name = null;
+            while (!stack.isEmpty()) {
+                final Token next = nextToken();
+                final Object parent = stack.get(stack.size() - 1);
+                final Object value;
+                if (next == Token.FIELD_NAME) {
+                    name = text;
+                    continue;
+                } else if (next == Token.END_OBJECT || next == Token.END_ARRAY) {
+                    stack.remove(stack.size() - 1);
+                    continue;
+                } else if (next == Token.START_OBJECT) {
+                    value = new LinkedHashMap<>();
+                    stack.add(value);
+                } else if (next == Token.START_ARRAY) {
+                    value = new ArrayList<>();
+                    stack.add(value);
                 } else {
-                    result = Double.valueOf(number);
+                    value = getValue();
                 }
-            } else {
-                if (number.length() > 19) {
-                    result = new java.math.BigInteger(number);
+                if (parent instanceof Map) {
+                    ((Map<String, Object>) parent).put(name, value);
                 } else {
-                    result = Long.valueOf(number);
+                    ((List<Object>) parent).add(value);
                 }
             }
-            return result;
+            return root;
         }
 
-        private void readFraction() {
-            if (!readChar('.')) {
+        public void skipValue() {
+            if (token != Token.START_OBJECT && token != Token.START_ARRAY) {
                 return;
             }
-            if (!readDigit()) {
-                throw expected(DIGIT);
-            }
-            while (readDigit()) {
-                // ignored
+            final int startDepth = depth;
+            while (depth >= startDepth) {
+                nextToken();
             }
         }
 
-        private void readExponent() {
-            if (!readChar('e') && !readChar('E')) {
-                return;
-            }
-            if (!readChar('+')) {
-                readChar('-');
-            }
-            if (!readDigit()) {
-                throw expected(DIGIT);
-            }
-            while (readDigit()) {
-                // ignored
-            }
+        @Override
+        public void close() throws IOException {
+            reader.close();
         }
 
-        private boolean readChar(char ch) {
-            if (current != ch) {
-                return false;
+        private Token readValueToken() {
+            switch (current) {
+                case 'n':
+                    readRequiredLiteral("null");
+                    text = NULL;
+                    token = Token.VALUE_NULL;
+                    break;
+                case 't':
+                    readRequiredLiteral("true");
+                    text = "true";
+                    token = Token.VALUE_TRUE;
+                    break;
+                case 'f':
+                    readRequiredLiteral("false");
+                    text = "false";
+                    token = Token.VALUE_FALSE;
+                    break;
+                case '"':
+                    text = readString();
+                    token = Token.VALUE_STRING;
+                    break;
+                case '[':
+                    read();
+                    startContainer(false);
+                    token = Token.START_ARRAY;
+                    break;
+                case '{':
+                    read();
+                    startContainer(true);
+                    token = Token.START_OBJECT;
+                    break;
+                case '-':
+                case '0':
+                case '1':
+                case '2':
+                case '3':
+                case '4':
+                case '5':
+                case '6':
+                case '7':
+                case '8':
+                case '9':
+                    text = readNumberText();
+                    token = Token.VALUE_NUMBER;
+                    break;
+                default:
+                    throw expected("value");
             }
-            read();
-            return true;
+            return token;
         }
 
-        private boolean readDigit() {
-            if (!isDigit()) {
-                return false;
+        private void startContainer(boolean isObject) {
+            if (depth == PARSE_MAX_DEPTH) {
+                throw error("Maximum depth exceeded");
             }
-            read();
-            return true;
+            if (depth == objects.length) {
+                objects = Arrays.copyOf(objects, depth * 2);
+            }
+            objects[depth++] = isObject;
+            text = null;
         }
 
-        private void skipWhiteSpace() {
-            while (isWhiteSpace()) {
-                read();
-            }
+        private Token endContainer(Token endToken) {
+            depth--;
+            text = null;
+            token = endToken;
+            return token;
         }
 
-        private void read() {
-            if (index == json.length()) {
+        @Override
+        void read() {
+            if (bufferIndex == bufferLength && !fill()) {
                 current = -1;
                 return;
             }
             if (current == '\n') {
                 line++;
-                lineOffset = index;
+                lineOffset = bufferOffset + bufferIndex;
             }
-            current = json.charAt(index++);
+            current = buffer[bufferIndex++];
         }
 
-        private void startCapture() {
-            captureStart = index - 1;
+        private boolean fill() {
+            if (captureStart != -1) {
+                captureBuffer.append(buffer, captureStart, bufferLength - captureStart);
+                captureStart = 0;
+            }
+            bufferOffset += bufferLength;
+            bufferIndex = 0;
+            int count;
+            try {
+                do {
+                    count = reader.read(buffer, 0, buffer.length);
+                } while (count == 0);
+            } catch (IOException ex) {
+                throw new UnsupportedOperationException(ex);
+            }
+            bufferLength = Math.max(0, count);
+            return count > 0;
         }
 
-        private void pauseCapture() {
-            captureBuffer.append(json, captureStart, index - 1);
+        @Override
+        void startCapture() {
+            captureStart = bufferIndex - 1;
+        }
+
+        @Override
+        void pauseCapture() {
+            captureBuffer.append(buffer, captureStart, bufferIndex - 1 - captureStart);
             captureStart = -1;
         }
 
-        private String endCapture() {
-            int end = current == -1 ? index : index - 1;
+        @Override
+        String endCapture() {
+            int end = current == -1 ? bufferIndex : bufferIndex - 1;
             String captured;
             if (captureBuffer.length() > 0) {
-                captureBuffer.append(json, captureStart, end);
+                captureBuffer.append(buffer, captureStart, end - captureStart);
                 captured = captureBuffer.toString();
                 captureBuffer.setLength(0);
             } else {
-                captured = json.substring(captureStart, end);
+                captured = new String(buffer, captureStart, end - captureStart);
             }
             captureStart = -1;
             return captured;
         }
 
-        private ParseException expected(String expected) {
-            if (isEndOfText()) {
-                return error("Unexpected end of input");
-            }
-            return error("Expected " + expected);
-        }
-
-        private ParseException error(String message) {
-            int absIndex = index;
+        @Override
+        ParseException error(String message) {
+            int absIndex = bufferOffset + bufferIndex;
             int column = absIndex - lineOffset;
             int offset = isEndOfText() ? absIndex : absIndex - 1;
             return new ParseException(message, offset, line, column - 1);
         }
 
-        private boolean isWhiteSpace() {
-            return current == ' ' || current == '\t' || current == '\n' || current == '\r';
-        }
-
-        private boolean isDigit() {
-            return current >= '0' && current <= '9';
-        }
-
-        private boolean isHexDigit() {
-            return isDigit()
-                    || current >= 'a' && current <= 'f'
-                    || current >= 'A' && current <= 'F';
-        }
-
-        private boolean isEndOfText() {
-            return current == -1;
-        }
     }
 
     public static String toJson(Collection collection, JsonStringBuilder.Step identStep) {
-        final JsonStringBuilder builder = new JsonStringBuilder(identStep);
+        final JsonStringBuilder builder = acquireBuilder(identStep);
         JsonArray.writeJson(collection, builder);
-        return builder.toString();
+        return releaseBuilder(builder);
     }
 
     public static String toJson(Collection collection) {
@@ -824,29 +3948,272 @@ public final class Json {
     }
 
     public static String toJson(Map map, JsonStringBuilder.Step identStep) {
-        final JsonStringBuilder builder = new JsonStringBuilder(identStep);
+        final JsonStringBuilder builder = acquireBuilder(identStep);
         JsonObject.writeJson(map, builder);
-        return builder.toString();
+        return releaseBuilder(builder);
     }
 
     public static String toJson(Map map) {
         return toJson(map, JsonStringBuilder.Step.TWO_SPACES);
     }
 
+    public static String toJson(Object value, JsonStringBuilder.Step identStep) {
+        final JsonStringBuilder builder = acquireBuilder(identStep);
+        JsonValue.writeJson(value, builder);
+        return releaseBuilder(builder);
+    }
+
+    public static String toJson(Object value) {
+        return toJson(value, JsonStringBuilder.Step.TWO_SPACES);
+    }
+
+    private static JsonStringBuilder acquireBuilder(JsonStringBuilder.Step identStep) {
+        final JsonStringBuilder[] slot = BUILDERS.get();
+        final JsonStringBuilder builder = slot[0];
+        if (builder == null) {
+            return new JsonStringBuilder(identStep);
+        }
+        slot[0] = null;
+        return builder.reset(identStep);
+    }
+
+    private static String releaseBuilder(JsonStringBuilder builder) {
+        final String result = builder.toString();
+        BUILDERS.get()[0] = builder.reset();
+        return result;
+    }
+
+    public static void writeJson(Object value, Writer writer, JsonStringBuilder.Step identStep)
+            throws IOException {
+        final JsonWriter jsonWriter = new JsonWriter(writer, identStep);
+        JsonValue.writeJson(value, jsonWriter);
+        jsonWriter.flush();
+    }
+
+    public static void writeJson(
+            Object value, OutputStream outputStream, JsonStringBuilder.Step identStep)
+            throws IOException {
+        final JsonByteWriter jsonWriter = new JsonByteWriter(outputStream, identStep);
+        JsonValue.writeJson(value, jsonWriter);
+        jsonWriter.flush();
+    }
+
+    public static String toCanonicalJson(Object value) {
+        final JsonStringBuilder builder =
+                acquireBuilder(JsonStringBuilder.Step.COMPACT).canonical(true);
+        JsonValue.writeJson(value, builder);
+        return releaseBuilder(builder);
+    }
+
+    public static byte[] canonicalDigest(Object value, MessageDigest digest) {
+        final JsonByteWriter writer =
+                new JsonByteWriter(
+                        new DigestOutputStream(OutputStream.nullOutputStream(), digest),
+                        JsonStringBuilder.Step.COMPACT);
+        writer.canonical(true);
+        JsonValue.writeJson(value, writer);
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UnsupportedOperationException(ex);
+        }
+        return digest.digest();
+    }
+
+    public static byte[] canonicalDigest(Object value, String algorithm) {
+        try {
+            return canonicalDigest(value, MessageDigest.getInstance(algorithm));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    public static byte[] toJsonBytes(Object value, JsonStringBuilder.Step identStep) {
+        final JsonByteWriter writer = new JsonByteWriter(identStep);
+        JsonValue.writeJson(value, writer);
+        return writer.toByteArray();
+    }
+
+    public static byte[] toJsonBytes(Object value) {
+        return toJsonBytes(value, JsonStringBuilder.Step.TWO_SPACES);
+    }
+
     public static Object fromJson(String string) {
-        return fromJson(string, PARSE_MAX_DEPTH);
+        return PARSERS.get().parse(string);
+    }
+
+    public static <T> T fromJson(String string, Class<T> type) {
+        return bind(new JsonReader(new StringReader(string)), type);
+    }
+
+    public static <T> T fromJson(InputStream inputStream, Class<T> type) {
+        return bind(new JsonReader(inputStream), type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T bind(JsonReader reader, Class<T> type) {
+        reader.nextToken();
+        final Object result = TypeBinder.of(type).read(reader);
+        reader.nextToken();
+        return (T) result;
     }
 
     public static Object fromJson(String string, int maxDepth) {
         return new JsonParser(string, maxDepth).parse();
     }
 
+    public static Object fromJson(String string, ParseOptions options) {
+        final JsonParser parser = new JsonParser(string, options);
+        return options.isIterative() ? parser.parseIterative() : parser.parse();
+    }
+
+    public static Object fromJsonSelected(String string, Collection<List<String>> paths) {
+        return new JsonParser(string, PARSE_MAX_DEPTH).parseSelected(paths);
+    }
+
+    public static Object fromJsonLazy(String string) {
+        return new LazyIndex(string).root();
+    }
+
+    public static Object fromJsonIterative(String string) {
+        return new JsonParser(string, Integer.MAX_VALUE).parseIterative();
+    }
+
+    public static Object fromJsonIterative(String string, int maxDepth) {
+        return new JsonParser(string, maxDepth).parseIterative();
+    }
+
+    public static Object fromJson(byte[] bytes) {
+        return fromJson(bytes, PARSE_MAX_DEPTH);
+    }
+
+    public static Object fromJson(byte[] bytes, int maxDepth) {
+        return new JsonByteParser(bytes, maxDepth).parse();
+    }
+
+    public static Object fromJson(byte[] bytes, ParseOptions options) {
+        final JsonByteParser parser = new JsonByteParser(bytes, options);
+        return options.isIterative() ? parser.parseIterative() : parser.parse();
+    }
+
+    public static Object fromJson(ByteBuffer buffer) {
+        return new JsonByteParser(buffer, PARSE_MAX_DEPTH).parse();
+    }
+
+    public static Stream<Object> readJsonLines(InputStream inputStream) {
+        final JsonLinesReader reader = new JsonLinesReader(inputStream);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED), false)
+                .onClose(() -> closeUnchecked(reader));
+    }
+
+    public static Stream<Object> readJsonLines(
+            InputStream inputStream, ExecutorService executor, int batchSize) {
+        final JsonLinesReader reader = new JsonLinesReader(inputStream);
+        final ParallelJsonLinesIterator iterator =
+                new ParallelJsonLinesIterator(reader, executor, batchSize);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(
+                        () -> {
+                            iterator.cancel();
+                            closeUnchecked(reader);
+                        });
+    }
+
+    private static void closeUnchecked(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            throw new UnsupportedOperationException(ex);
+        }
+    }
+
+    public static void writeJsonLines(Iterable<?> values, OutputStream outputStream)
+            throws IOException {
+        final JsonLinesWriter writer = new JsonLinesWriter(outputStream);
+        for (Object value : values) {
+            writer.write(value);
+        }
+        writer.flush();
+    }
+
     public static String formatJson(String json, JsonStringBuilder.Step identStep) {
-        Object result = fromJson(json);
-        if (result instanceof Map) {
-            return toJson((Map) result, identStep);
+        final JsonStringBuilder builder = acquireBuilder(identStep);
+        formatJson(new JsonReader(new StringReader(json)), builder);
+        return releaseBuilder(builder);
+    }
+
+    public static void formatJson(Reader reader, Writer writer, JsonStringBuilder.Step identStep)
+            throws IOException {
+        final JsonWriter jsonWriter = new JsonWriter(writer, identStep);
+        formatJson(new JsonReader(reader), jsonWriter);
+        jsonWriter.flush();
+    }
+
+    private static void formatJson(JsonReader reader, JsonStringBuilder builder) {
+        int depth = 0;
+        boolean containerStarted = false;
+        boolean afterName = false;
+        JsonReader.Token token = reader.nextToken();
+        while (token != null) {
+            if (token == JsonReader.Token.END_OBJECT || token == JsonReader.Token.END_ARRAY) {
+                builder.newLine()
+                        .decIndent()
+                        .fillSpaces()
+                        .append(token == JsonReader.Token.END_OBJECT ? '}' : ']');
+                containerStarted = false;
+                depth--;
+                token = reader.nextToken();
+                continue;
+            }
+            if (afterName) {
+                afterName = false;
+            } else if (depth > 0) {
+                if (containerStarted) {
+                    builder.newLine();
+                } else {
+                    builder.append(',').newLine();
+                }
+                builder.fillSpaces();
+            }
+            containerStarted = false;
+            switch (token) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    builder.append(token == JsonReader.Token.START_OBJECT ? '{' : '[').incIndent();
+                    containerStarted = true;
+                    depth++;
+                    break;
+                case FIELD_NAME:
+                    builder.append('"');
+                    JsonValue.escape(reader.getText(), builder);
+                    builder.append('"').append(':');
+                    if (builder.getIdentStep() != JsonStringBuilder.Step.COMPACT) {
+                        builder.append(' ');
+                    }
+                    afterName = true;
+                    break;
+                case VALUE_STRING:
+                    builder.append('"');
+                    JsonValue.escape(reader.getText(), builder);
+                    builder.append('"');
+                    break;
+                case VALUE_NUMBER:
+                    builder.append(reader.getText());
+                    break;
+                case VALUE_TRUE:
+                    builder.append("true");
+                    break;
+                case VALUE_FALSE:
+                    builder.append("false");
+                    break;
+                default:
+                    builder.append(NULL);
+                    break;
+            }
+            token = reader.nextToken();
         }
-        return toJson((List) result, identStep);
     }
 
     public static String formatJson(String json) {
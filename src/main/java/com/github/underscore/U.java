@@ -64,6 +64,7 @@ import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 import javax.xml.xpath.XPath;
@@ -104,6 +105,8 @@ public class U<T> extends Underscore<T> {
     private static final String NIL_KEY = "-nil";
     private static final String OMIT_XML_DECL = "#omit-xml-declaration";
     private static final String YES = "yes";
+    private static final ThreadLocal<XPath> X_PATHS =
+            ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
     private static final java.util.regex.Pattern RE_WORDS =
             java.util.regex.Pattern.compile(
                     UPPER + "+(?=" + UPPER + LOWER + ")|" + UPPER + "?" + LOWER + "|" + UPPER
@@ -1817,11 +1820,24 @@ public class U<T> extends Underscore<T> {
         return baseGetOrSetOrRemove(object, paths, null, OperationType.GET);
     }
 
+    private static XPath getXPath() {
+        final XPath xPath = X_PATHS.get();
+        xPath.reset();
+        return xPath;
+    }
+
     public static String selectToken(final Map<String, Object> object, final String expression) {
+        return selectToken(object, expression, null);
+    }
+
+    public static String selectToken(
+            final Map<String, Object> object,
+            final String expression,
+            final javax.xml.parsers.DocumentBuilderFactory factory) {
         final String xml = toXml(object);
         try {
-            final XPath xPath = XPathFactory.newInstance().newXPath();
-            final org.w3c.dom.Document document = Xml.Document.createDocument(xml);
+            final XPath xPath = getXPath();
+            final org.w3c.dom.Document document = createDocument(xml, factory);
             final NodeList nodes =
                     (NodeList) xPath.compile(expression).evaluate(document, XPathConstants.NODESET);
             if (nodes.getLength() == 0) {
@@ -1835,10 +1851,17 @@ public class U<T> extends Underscore<T> {
 
     public static List<String> selectTokens(
             final Map<String, Object> object, final String expression) {
+        return selectTokens(object, expression, null);
+    }
+
+    public static List<String> selectTokens(
+            final Map<String, Object> object,
+            final String expression,
+            final javax.xml.parsers.DocumentBuilderFactory factory) {
         final String xml = toXml(object);
         try {
-            final XPath xPath = XPathFactory.newInstance().newXPath();
-            final org.w3c.dom.Document document = Xml.Document.createDocument(xml);
+            final XPath xPath = getXPath();
+            final org.w3c.dom.Document document = createDocument(xml, factory);
             final NodeList nodes =
                     (NodeList) xPath.compile(expression).evaluate(document, XPathConstants.NODESET);
             final List<String> result = new ArrayList<>();
@@ -1851,6 +1874,16 @@ public class U<T> extends Underscore<T> {
         }
     }
 
+    private static org.w3c.dom.Document createDocument(
+            final String xml, final javax.xml.parsers.DocumentBuilderFactory factory)
+            throws java.io.IOException,
+                    javax.xml.parsers.ParserConfigurationException,
+                    org.xml.sax.SAXException {
+        return factory == null
+                ? Xml.Document.createDocument(xml)
+                : Xml.Document.createDocument(xml, factory);
+    }
+
     public static <T> T set(final Map<String, Object> object, final String path, Object value) {
         return set(object, stringToPath(path), value);
     }
@@ -2617,6 +2650,29 @@ public class U<T> extends Underscore<T> {
         return (T) Json.fromJson(string);
     }
 
+    @SuppressWarnings("unchecked")
+    public static <T> T fromJson(String string, Json.ParseOptions options) {
+        return (T) Json.fromJson(string, options);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T fromJsonSelected(String string, String... paths) {
+        final List<List<String>> selectedPaths = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            selectedPaths.add(stringToPath(path));
+        }
+        return (T) Json.fromJsonSelected(string, selectedPaths);
+    }
+
+    public static <T> T fromJson(String string, Class<T> type) {
+        return Json.fromJson(string, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T fromJsonLazy(String string) {
+        return (T) Json.fromJsonLazy(string);
+    }
+
     public Object fromJson() {
         return Json.fromJson(getString().get());
     }
@@ -2836,12 +2892,23 @@ public class U<T> extends Underscore<T> {
         streamXmlToJson(xmlInputStream, jsonOutputStream, Json.JsonStringBuilder.Step.TWO_SPACES);
     }
 
+    public static Stream<Map<String, Object>> readXmlRecords(
+            InputStream xmlInputStream, String recordPath) throws IOException {
+        final java.io.BufferedInputStream inputStream =
+                new java.io.BufferedInputStream(xmlInputStream);
+        inputStream.mark(4);
+        final byte[] header = inputStream.readNBytes(4);
+        inputStream.reset();
+        inputStream.skip(header.length - removeBom(header).length);
+        return Xml.readXmlRecords(
+                new java.io.InputStreamReader(inputStream, detectEncoding(header)), recordPath);
+    }
+
     public static void fileJsonToXml(
             String jsonFileName, String xmlFileName, Xml.XmlStringBuilder.Step identStep)
             throws IOException {
         final byte[] bytes = Files.readAllBytes(Paths.get(jsonFileName));
-        String jsonText = new String(removeBom(bytes), detectEncoding(bytes));
-        Object result = U.fromJson(jsonText);
+        Object result = fromJsonBytes(bytes);
         Path xmlFilePath = Paths.get(xmlFileName);
         String lineSeparator = System.lineSeparator();
         if (result instanceof Map) {
@@ -2949,8 +3016,7 @@ public class U<T> extends Underscore<T> {
             Xml.XmlStringBuilder.Step identStep)
             throws IOException {
         byte[] bytes = jsonInputStream.readAllBytes();
-        String jsonText = new String(removeBom(bytes), detectEncoding(bytes));
-        Object jsonObject = U.fromJson(jsonText);
+        Object jsonObject = fromJsonBytes(bytes);
         String lineSeparator = System.lineSeparator();
         String xml;
         if (jsonObject instanceof Map) {
@@ -2972,6 +3038,14 @@ public class U<T> extends Underscore<T> {
         streamJsonToXml(jsonInputStream, xmlOutputStream, Xml.XmlStringBuilder.Step.TWO_SPACES);
     }
 
+    private static Object fromJsonBytes(byte[] bytes) throws IOException {
+        final String encoding = detectEncoding(bytes);
+        if ("UTF8".equals(encoding)) {
+            return Json.fromJson(bytes);
+        }
+        return Json.fromJson(new String(removeBom(bytes), encoding));
+    }
+
     public static byte[] removeBom(byte[] bytes) {
         if ((bytes.length >= 3) && (bytes[0] == -17) && (bytes[1] == -69) && (bytes[2] == -65)) {
             return Arrays.copyOfRange(bytes, 3, bytes.length);
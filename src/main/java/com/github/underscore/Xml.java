@@ -25,6 +25,11 @@ package com.github.underscore;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,9 +39,15 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings({
     "java:S107",
@@ -79,9 +90,13 @@ public final class Xml {
     private static final String DOCTYPE_TEXT = "!DOCTYPE";
     private static final String ROOT = "root";
     private static final String DOCTYPE_HEADER = "<" + DOCTYPE_TEXT + " ";
+    private static final String REPORT_CDATA_EVENT =
+            "http://java.sun.com/xml/stream/properties/report-cdata-event";
     private static final Set<Character> SKIPPED_CHARS = Set.of(' ', '\n', '\r');
     private static final Map<String, String> XML_UNESCAPE = new HashMap<>();
     private static final org.w3c.dom.Document DOCUMENT = Document.createDocument();
+    private static final ThreadLocal<javax.xml.stream.XMLInputFactory> XML_INPUT_FACTORIES =
+            ThreadLocal.withInitial(Xml::createXmlInputFactory);
 
     static {
         XML_UNESCAPE.put(QUOT, "\"");
@@ -114,6 +129,8 @@ public final class Xml {
             }
         }
 
+        private static final char[] SPACE_FILL = " ".repeat(256).toCharArray();
+        private static final char[] TAB_FILL = "\t".repeat(64).toCharArray();
         protected final StringBuilder builder;
         private final Step identStep;
         private int ident;
@@ -136,8 +153,10 @@ public final class Xml {
         }
 
         public XmlStringBuilder fillSpaces() {
-            builder.append(
-                    String.valueOf(identStep == Step.TABS ? '\t' : ' ').repeat(Math.max(0, ident)));
+            final char[] fill = identStep == Step.TABS ? TAB_FILL : SPACE_FILL;
+            for (int remaining = ident; remaining > 0; remaining -= fill.length) {
+                builder.append(fill, 0, Math.min(remaining, fill.length));
+            }
             return this;
         }
 
@@ -1148,11 +1167,11 @@ public final class Xml {
         final XmlStringBuilder builder;
         final Map localMap;
         if (map != null && map.containsKey(ENCODING)) {
-            localMap = (Map) ((LinkedHashMap) map).clone();
+            localMap = copyMap((Map<?, ?>) map);
             builder =
                     checkStandalone(String.valueOf(localMap.remove(ENCODING)), identStep, localMap);
         } else if (map != null && map.containsKey(STANDALONE)) {
-            localMap = (Map) ((LinkedHashMap) map).clone();
+            localMap = copyMap((Map<?, ?>) map);
             builder =
                     new XmlStringBuilderWithoutRoot(
                             identStep,
@@ -1162,7 +1181,7 @@ public final class Xml {
                                     + "\"");
             localMap.remove(STANDALONE);
         } else if (map != null && map.containsKey(OMITXMLDECLARATION)) {
-            localMap = (Map) ((LinkedHashMap) map).clone();
+            localMap = copyMap((Map<?, ?>) map);
             builder = new XmlStringBuilderWithoutHeader(identStep, 0);
             localMap.remove(OMITXMLDECLARATION);
         } else {
@@ -1180,7 +1199,7 @@ public final class Xml {
             final String arrayTrue) {
         final Map localMap2;
         if (localMap != null && localMap.containsKey(DOCTYPE_TEXT)) {
-            localMap2 = (Map) ((LinkedHashMap) localMap).clone();
+            localMap2 = copyMap((Map<?, ?>) localMap);
             localMap2.remove(DOCTYPE_TEXT);
             builder.append(DOCTYPE_HEADER)
                     .append(String.valueOf(localMap.get(DOCTYPE_TEXT)))
@@ -1308,8 +1327,13 @@ public final class Xml {
         return localValue;
     }
 
+    private static <K, V> Map<K, V> copyMap(final Map<K, V> map) {
+        return map instanceof CompactMap ? new CompactMap<>(map) : new LinkedHashMap<>(map);
+    }
+
     private static Object createMap(
-            final org.w3c.dom.Node node,
+            final javax.xml.stream.XMLStreamReader reader,
+            final String nodeName,
             final BiFunction<Object, Set<String>, String> elementMapper,
             final Function<Object, Object> nodeMapper,
             final Map<String, Object> attrMap,
@@ -1317,73 +1341,219 @@ public final class Xml {
             final String source,
             final int[] sourceIndex,
             final Set<String> namespaces,
-            final FromType fromType) {
-        final Map<String, Object> map = new LinkedHashMap<>(attrMap);
-        final org.w3c.dom.NodeList nodeList = node.getChildNodes();
-        for (int index = 0; index < nodeList.getLength(); index++) {
-            final org.w3c.dom.Node currentNode = nodeList.item(index);
-            final String name;
-            if (currentNode.getNodeType() == org.w3c.dom.Node.PROCESSING_INSTRUCTION_NODE) {
-                name = "?" + currentNode.getNodeName();
-            } else {
-                name = currentNode.getNodeName();
+            final FromType fromType,
+            final Supplier<Map<String, Object>> mapSupplier)
+            throws javax.xml.stream.XMLStreamException {
+        final Map<String, Object> map = mapSupplier.get();
+        map.putAll(attrMap);
+        int childCount = 0;
+        String whitespace = null;
+        StringBuilder text = null;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == javax.xml.stream.XMLStreamConstants.CHARACTERS
+                    || event == javax.xml.stream.XMLStreamConstants.SPACE
+                    || event == javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(reader.getText());
+                continue;
             }
-            final Object value;
-            if (currentNode.getNodeType() == org.w3c.dom.Node.ELEMENT_NODE) {
-                sourceIndex[0] = source.indexOf("<" + name, sourceIndex[0]) + name.length() + 1;
-                value =
-                        addElement(
-                                sourceIndex,
-                                source,
-                                elementMapper,
-                                nodeMapper,
-                                uniqueIds,
-                                currentNode,
-                                namespaces,
-                                fromType);
-            } else {
-                if (COMMENT.equals(name)) {
-                    sourceIndex[0] = source.indexOf("-->", sourceIndex[0]) + 3;
-                } else if (CDATA.equals(name)) {
-                    sourceIndex[0] = source.indexOf("]]>", sourceIndex[0]) + 3;
+            if (text != null) {
+                childCount += 1;
+                final String value = text.toString();
+                text = null;
+                if (value.trim().isEmpty()) {
+                    whitespace = value;
+                } else {
+                    addNodeValue(
+                            map,
+                            TEXT,
+                            value,
+                            elementMapper,
+                            nodeMapper,
+                            uniqueIds,
+                            namespaces,
+                            fromType);
                 }
-                value = currentNode.getTextContent();
             }
-            if (TEXT.equals(name)
-                    && node.getChildNodes().getLength() > 1
-                    && String.valueOf(value).trim().isEmpty()) {
-                continue;
+            if (event == javax.xml.stream.XMLStreamConstants.END_ELEMENT
+                    || event == javax.xml.stream.XMLStreamConstants.END_DOCUMENT) {
+                break;
             }
-            if (currentNode.getNodeType() == org.w3c.dom.Node.DOCUMENT_TYPE_NODE) {
-                addNodeValue(
-                        map,
-                        DOCTYPE_TEXT,
-                        getDoctypeValue(source),
-                        elementMapper,
-                        nodeMapper,
-                        uniqueIds,
-                        namespaces,
-                        fromType);
-            } else {
-                addNodeValue(
-                        map,
-                        name,
-                        value,
-                        elementMapper,
-                        nodeMapper,
-                        uniqueIds,
-                        namespaces,
-                        fromType);
+            final String name;
+            final Object value;
+            switch (event) {
+                case javax.xml.stream.XMLStreamConstants.START_ELEMENT:
+                    name = getQualifiedName(reader);
+                    final String tag = readStartTag(reader, source, sourceIndex, name);
+                    value =
+                            addElement(
+                                    tag == null ? getStaxAttributes(reader) : tag,
+                                    sourceIndex,
+                                    source,
+                                    elementMapper,
+                                    nodeMapper,
+                                    uniqueIds,
+                                    reader,
+                                    name,
+                                    namespaces,
+                                    fromType,
+                                    mapSupplier);
+                    advanceCursor(reader, source, sourceIndex);
+                    break;
+                case javax.xml.stream.XMLStreamConstants.COMMENT:
+                    name = COMMENT;
+                    advanceCursor(reader, source, sourceIndex);
+                    value = reader.getText();
+                    break;
+                case javax.xml.stream.XMLStreamConstants.CDATA:
+                    name = CDATA;
+                    advanceCursor(reader, source, sourceIndex);
+                    value = reader.getText();
+                    break;
+                case javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    name = "?" + reader.getPITarget();
+                    advanceCursor(reader, source, sourceIndex);
+                    value = reader.getPIData() == null ? "" : reader.getPIData();
+                    break;
+                case javax.xml.stream.XMLStreamConstants.DTD:
+                    name = DOCTYPE_TEXT;
+                    value = getDoctypeValue(source);
+                    advanceCursor(reader, source, sourceIndex);
+                    break;
+                default:
+                    continue;
+            }
+            childCount += 1;
+            addNodeValue(
+                    map, name, value, elementMapper, nodeMapper, uniqueIds, namespaces, fromType);
+        }
+        if (whitespace != null && childCount == 1) {
+            addNodeValue(
+                    map,
+                    TEXT,
+                    whitespace,
+                    elementMapper,
+                    nodeMapper,
+                    uniqueIds,
+                    namespaces,
+                    fromType);
+        }
+        return checkNumberAndBoolean(map, nodeName);
+    }
+
+    private static String readStartTag(
+            final javax.xml.stream.XMLStreamReader reader,
+            final String source,
+            final int[] sourceIndex,
+            final String name) {
+        final javax.xml.stream.Location location = reader.getLocation();
+        final int offset = getLineOffset(location, source, sourceIndex);
+        if (offset <= sourceIndex[0]) {
+            return null;
+        }
+        final int end = getMarkupEnd(location, source, sourceIndex, offset);
+        int start = end < 0 ? -1 : source.lastIndexOf('<', end - 1);
+        if (start < sourceIndex[0] || !isStartTag(source, start, name)) {
+            start = source.indexOf('<', sourceIndex[0]);
+            if (start < 0 || !isStartTag(source, start, name)) {
+                return null;
             }
         }
-        return checkNumberAndBoolean(map, node.getNodeName());
+        final String attributes = getAttributes(start + name.length() + 1, source);
+        sourceIndex[0] = start + name.length() + attributes.length() + 2;
+        return attributes;
+    }
+
+    private static boolean isStartTag(final String source, final int start, final String name) {
+        final int nameEnd = start + name.length() + 1;
+        return source.startsWith(name, start + 1)
+                && nameEnd < source.length()
+                && isTagNameEnd(source.charAt(nameEnd));
+    }
+
+    private static void advanceCursor(
+            final javax.xml.stream.XMLStreamReader reader,
+            final String source,
+            final int[] sourceIndex) {
+        final javax.xml.stream.Location location = reader.getLocation();
+        final int end =
+                getMarkupEnd(
+                        location, source, sourceIndex, getLineOffset(location, source, sourceIndex));
+        if (end >= 0) {
+            sourceIndex[0] = end;
+        }
+    }
+
+    private static int getMarkupEnd(
+            final javax.xml.stream.Location location,
+            final String source,
+            final int[] sourceIndex,
+            final int offset) {
+        if (isMarkupEnd(source, sourceIndex, offset)) {
+            return offset;
+        }
+        final int characterOffset = location == null ? -1 : location.getCharacterOffset();
+        return isMarkupEnd(source, sourceIndex, characterOffset) ? characterOffset : -1;
+    }
+
+    private static boolean isMarkupEnd(final String source, final int[] sourceIndex, final int end) {
+        return end > sourceIndex[0] && end <= source.length() && source.charAt(end - 1) == '>';
+    }
+
+    // sourceIndex holds the cursor and the number and start of the last line counted
+    private static int getLineOffset(
+            final javax.xml.stream.Location location,
+            final String source,
+            final int[] sourceIndex) {
+        if (location == null || location.getLineNumber() < sourceIndex[1]) {
+            return -1;
+        }
+        int index = sourceIndex[2];
+        while (sourceIndex[1] < location.getLineNumber() && index < source.length()) {
+            final char ch = source.charAt(index);
+            index += 1;
+            if (ch == '\n'
+                    || ch == '\r' && (index == source.length() || source.charAt(index) != '\n')) {
+                sourceIndex[1] += 1;
+                sourceIndex[2] = index;
+            }
+        }
+        return sourceIndex[1] == location.getLineNumber()
+                ? sourceIndex[2] + location.getColumnNumber() - 1
+                : -1;
+    }
+
+    private static boolean isTagNameEnd(final char ch) {
+        return ch == '>' || ch == '/' || Character.isWhitespace(ch);
+    }
+
+    private static String getStaxAttributes(final javax.xml.stream.XMLStreamReader reader) {
+        final StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, String> attribute : new StaxAttributes(reader).entrySet()) {
+            result.append(' ')
+                    .append(attribute.getKey())
+                    .append("=\"")
+                    .append(attribute.getValue().replace("&", "&amp;").replace("\"", QUOT))
+                    .append('"');
+        }
+        return result.toString();
+    }
+
+    private static String getQualifiedName(final javax.xml.stream.XMLStreamReader reader) {
+        final String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty()
+                ? reader.getLocalName()
+                : prefix + ":" + reader.getLocalName();
     }
 
     @SuppressWarnings("unchecked")
     private static Object checkNumberAndBoolean(final Map<String, Object> map, final String name) {
         final Map<String, Object> localMap;
         if (map.containsKey(NUMBER) && TRUE.equals(map.get(NUMBER)) && map.containsKey(TEXT)) {
-            localMap = (Map) ((LinkedHashMap) map).clone();
+            localMap = copyMap(map);
             localMap.remove(NUMBER);
             localMap.put(TEXT, stringToNumber(String.valueOf(localMap.get(TEXT))));
         } else {
@@ -1391,7 +1561,7 @@ public final class Xml {
         }
         final Map<String, Object> localMap2;
         if (map.containsKey(BOOLEAN) && TRUE.equals(map.get(BOOLEAN)) && map.containsKey(TEXT)) {
-            localMap2 = (Map) ((LinkedHashMap) localMap).clone();
+            localMap2 = copyMap(localMap);
             localMap2.remove(BOOLEAN);
             localMap2.put(TEXT, Boolean.valueOf(String.valueOf(localMap.get(TEXT))));
         } else {
@@ -1405,7 +1575,7 @@ public final class Xml {
         final Map<String, Object> localMap = checkNullAndString(map);
         final Object object;
         if (map.containsKey(ARRAY) && TRUE.equals(map.get(ARRAY))) {
-            final Map<String, Object> localMap4 = (Map) ((LinkedHashMap) localMap).clone();
+            final Map<String, Object> localMap4 = copyMap(localMap);
             localMap4.remove(ARRAY);
             localMap4.remove(SELF_CLOSING);
             object =
@@ -1424,7 +1594,7 @@ public final class Xml {
         }
         final Object object2;
         if (map.containsKey(EMPTY_ARRAY) && TRUE.equals(map.get(EMPTY_ARRAY))) {
-            final Map<String, Object> localMap4 = (Map) ((LinkedHashMap) map).clone();
+            final Map<String, Object> localMap4 = copyMap(map);
             localMap4.remove(EMPTY_ARRAY);
             if (localMap4.containsKey(ARRAY)
                     && TRUE.equals(localMap4.get(ARRAY))
@@ -1444,7 +1614,7 @@ public final class Xml {
     private static Map<String, Object> checkNullAndString(final Map<String, Object> map) {
         final Map<String, Object> localMap;
         if (map.containsKey(NULL_ATTR) && TRUE.equals(map.get(NULL_ATTR))) {
-            localMap = (Map) ((LinkedHashMap) map).clone();
+            localMap = copyMap(map);
             localMap.remove(NULL_ATTR);
             if (!map.containsKey(TEXT)) {
                 localMap.put(TEXT, null);
@@ -1454,7 +1624,7 @@ public final class Xml {
         }
         final Map<String, Object> localMap2;
         if (map.containsKey(STRING) && TRUE.equals(map.get(STRING))) {
-            localMap2 = (Map) ((LinkedHashMap) localMap).clone();
+            localMap2 = copyMap(localMap);
             localMap2.remove(STRING);
             if (!map.containsKey(TEXT)) {
                 localMap2.put(TEXT, "");
@@ -1466,18 +1636,21 @@ public final class Xml {
     }
 
     private static Object addElement(
+            final String attributesSource,
             final int[] sourceIndex,
             final String source,
             final BiFunction<Object, Set<String>, String> elementMapper,
             final Function<Object, Object> nodeMapper,
             final int[] uniqueIds,
-            final org.w3c.dom.Node currentNode,
+            final javax.xml.stream.XMLStreamReader reader,
+            final String name,
             final Set<String> namespaces,
-            final FromType fromType) {
-        final Map<String, Object> attrMapLocal = new LinkedHashMap<>();
-        if (currentNode.getAttributes().getLength() > 0) {
-            final Map<String, String> attributes =
-                    parseAttributes(getAttributes(sourceIndex[0], source));
+            final FromType fromType,
+            final Supplier<Map<String, Object>> mapSupplier)
+            throws javax.xml.stream.XMLStreamException {
+        final Map<String, Object> attrMapLocal = mapSupplier.get();
+        if (reader.getAttributeCount() + reader.getNamespaceCount() > 0) {
+            final Map<String, String> attributes = parseAttributes(attributesSource);
             for (Map.Entry<String, String> attribute : attributes.entrySet()) {
                 if (attribute.getKey().startsWith("xmlns:")) {
                     namespaces.add(attribute.getKey().substring(6));
@@ -1495,7 +1668,7 @@ public final class Xml {
                         fromType);
             }
         }
-        if (getAttributes(sourceIndex[0], source).endsWith("/")
+        if (attributesSource.endsWith("/")
                 && !attrMapLocal.containsKey(SELF_CLOSING)
                 && (attrMapLocal.size() != 1
                         || ((!attrMapLocal.containsKey(STRING)
@@ -1505,7 +1678,8 @@ public final class Xml {
             attrMapLocal.put(SELF_CLOSING, TRUE);
         }
         return createMap(
-                currentNode,
+                reader,
+                name,
                 elementMapper,
                 nodeMapper,
                 attrMapLocal,
@@ -1513,7 +1687,8 @@ public final class Xml {
                 source,
                 sourceIndex,
                 namespaces,
-                fromType);
+                fromType,
+                mapSupplier);
     }
 
     static Map<String, String> parseAttributes(final String source) {
@@ -1701,41 +1876,100 @@ public final class Xml {
     }
 
     public static Object fromXml(final String xml, final FromType fromType) {
+        return fromXml(xml, fromType, false);
+    }
+
+    public static Object fromXml(
+            final String xml, final FromType fromType, final boolean compactMaps) {
         if (xml == null) {
             return null;
         }
+        return parseXml(
+                xml,
+                (object, namespaces) -> String.valueOf(object),
+                object -> object,
+                fromType,
+                compactMaps ? CompactMap::new : LinkedHashMap::new);
+    }
+
+    private static Object parseXml(
+            final String xml,
+            final BiFunction<Object, Set<String>, String> elementMapper,
+            final Function<Object, Object> nodeMapper,
+            final FromType fromType,
+            final Supplier<Map<String, Object>> mapSupplier) {
         try {
-            org.w3c.dom.Document document = Document.createDocument(xml);
-            final Object result =
-                    createMap(
-                            document,
-                            (object, namespaces) -> String.valueOf(object),
-                            object -> object,
-                            Collections.emptyMap(),
-                            new int[] {1, 1, 1},
-                            xml,
-                            new int[] {0},
-                            new LinkedHashSet<>(),
-                            fromType);
-            if (checkResult(xml, document, result, fromType)) {
-                return ((Map.Entry) ((Map) result).entrySet().iterator().next()).getValue();
+            final javax.xml.stream.XMLStreamReader reader =
+                    createXmlStreamReader(normalizeCarriageReturns(xml));
+            try {
+                final String encoding = reader.getCharacterEncodingScheme();
+                final Object result =
+                        createMap(
+                                reader,
+                                "#document",
+                                elementMapper,
+                                nodeMapper,
+                                Collections.emptyMap(),
+                                new int[] {1, 1, 1},
+                                xml,
+                                new int[] {0, 1, 0},
+                                new LinkedHashSet<>(),
+                                fromType,
+                                mapSupplier);
+                if (checkResult(xml, encoding, result, fromType)) {
+                    return ((Map.Entry) ((Map) result).entrySet().iterator().next()).getValue();
+                }
+                return result;
+            } finally {
+                reader.close();
             }
-            return result;
         } catch (Exception ex) {
             throw new IllegalArgumentException(ex);
         }
     }
 
+    private static String normalizeCarriageReturns(final String xml) {
+        if (xml.indexOf('\r') < 0) {
+            return xml;
+        }
+        final char[] chars = xml.toCharArray();
+        for (int index = 0; index < chars.length; index += 1) {
+            if (chars[index] == '\r' && (index + 1 == chars.length || chars[index + 1] != '\n')) {
+                chars[index] = '\n';
+            }
+        }
+        return new String(chars);
+    }
+
+    private static javax.xml.stream.XMLStreamReader createXmlStreamReader(final String xml)
+            throws javax.xml.stream.XMLStreamException {
+        return XML_INPUT_FACTORIES.get().createXMLStreamReader(new java.io.StringReader(xml));
+    }
+
+    private static javax.xml.stream.XMLInputFactory createXmlInputFactory() {
+        final javax.xml.stream.XMLInputFactory factory = javax.xml.stream.XMLInputFactory.newInstance();
+        factory.setProperty(javax.xml.stream.XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(javax.xml.stream.XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(javax.xml.stream.XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        factory.setProperty(javax.xml.stream.XMLInputFactory.SUPPORT_DTD, true);
+        factory.setProperty(javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setXMLResolver(
+                (publicId, systemId, baseUri, namespace) ->
+                        new java.io.ByteArrayInputStream(new byte[0]));
+        factory.setProperty(REPORT_CDATA_EVENT, true);
+        return factory;
+    }
+
     @SuppressWarnings("unchecked")
     private static boolean checkResult(
             final String xml,
-            org.w3c.dom.Document document,
+            final String encoding,
             final Object result,
             final FromType fromType) {
         final Map<String, String> headerAttributes = getHeaderAttributes(xml);
-        if (document.getXmlEncoding() != null
-                && !"UTF-8".equalsIgnoreCase(document.getXmlEncoding())) {
-            ((Map) result).put(ENCODING, document.getXmlEncoding());
+        if (encoding != null && !"UTF-8".equalsIgnoreCase(encoding)) {
+            ((Map) result).put(ENCODING, encoding);
             if (headerAttributes.containsKey(STANDALONE.substring(1))) {
                 ((Map) result).put(STANDALONE, headerAttributes.get(STANDALONE.substring(1)));
             }
@@ -1793,21 +2027,37 @@ public final class Xml {
     }
 
     protected static class Document {
+        private static final javax.xml.parsers.DocumentBuilderFactory DEFAULT_FACTORY =
+                createFactory();
+        private static final ThreadLocal<CachedBuilder> BUILDERS = new ThreadLocal<>();
+
         private Document() {}
 
+        private static final class CachedBuilder {
+            private final javax.xml.parsers.DocumentBuilderFactory factory;
+            private final javax.xml.parsers.DocumentBuilder builder;
+
+            private CachedBuilder(
+                    final javax.xml.parsers.DocumentBuilderFactory factory,
+                    final javax.xml.parsers.DocumentBuilder builder) {
+                this.factory = factory;
+                this.builder = builder;
+            }
+        }
+
         public static org.w3c.dom.Document createDocument(final String xml)
                 throws java.io.IOException,
                         javax.xml.parsers.ParserConfigurationException,
                         org.xml.sax.SAXException {
-            final javax.xml.parsers.DocumentBuilderFactory factory =
-                    javax.xml.parsers.DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            try {
-                factory.setFeature(javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING, true);
-            } catch (Exception ignored) {
-                // ignored
-            }
-            final javax.xml.parsers.DocumentBuilder builder = factory.newDocumentBuilder();
+            return createDocument(xml, DEFAULT_FACTORY);
+        }
+
+        public static org.w3c.dom.Document createDocument(
+                final String xml, final javax.xml.parsers.DocumentBuilderFactory factory)
+                throws java.io.IOException,
+                        javax.xml.parsers.ParserConfigurationException,
+                        org.xml.sax.SAXException {
+            final javax.xml.parsers.DocumentBuilder builder = getDocumentBuilder(factory);
             builder.setErrorHandler(new org.xml.sax.helpers.DefaultHandler());
             builder.setEntityResolver(new MyEntityResolver());
             return builder.parse(new org.xml.sax.InputSource(new java.io.StringReader(xml)));
@@ -1815,17 +2065,36 @@ public final class Xml {
 
         private static org.w3c.dom.Document createDocument() {
             try {
-                final javax.xml.parsers.DocumentBuilderFactory factory =
-                        javax.xml.parsers.DocumentBuilderFactory.newInstance();
-                factory.setNamespaceAware(true);
-                setupFactory(factory);
-                final javax.xml.parsers.DocumentBuilder builder = factory.newDocumentBuilder();
-                return builder.newDocument();
+                return getDocumentBuilder(DEFAULT_FACTORY).newDocument();
             } catch (javax.xml.parsers.ParserConfigurationException ex) {
                 throw new IllegalArgumentException(ex);
             }
         }
 
+        private static javax.xml.parsers.DocumentBuilder getDocumentBuilder(
+                final javax.xml.parsers.DocumentBuilderFactory currentFactory)
+                throws javax.xml.parsers.ParserConfigurationException {
+            final CachedBuilder cached = BUILDERS.get();
+            if (cached != null && cached.factory == currentFactory) {
+                cached.builder.reset();
+                return cached.builder;
+            }
+            final javax.xml.parsers.DocumentBuilder builder;
+            synchronized (currentFactory) {
+                builder = currentFactory.newDocumentBuilder();
+            }
+            BUILDERS.set(new CachedBuilder(currentFactory, builder));
+            return builder;
+        }
+
+        private static javax.xml.parsers.DocumentBuilderFactory createFactory() {
+            final javax.xml.parsers.DocumentBuilderFactory factory =
+                    javax.xml.parsers.DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            setupFactory(factory);
+            return factory;
+        }
+
         private static void setupFactory(javax.xml.parsers.DocumentBuilderFactory factory) {
             try {
                 factory.setFeature(javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING, true);
@@ -1836,53 +2105,21 @@ public final class Xml {
     }
 
     public static Object fromXmlMakeArrays(final String xml) {
-        try {
-            org.w3c.dom.Document document = Document.createDocument(xml);
-            final Object result =
-                    createMap(
-                            document,
-                            (object, namespaces) -> String.valueOf(object),
-                            object ->
-                                    object instanceof List
-                                            ? object
-                                            : new ArrayList<>(Collections.singletonList(object)),
-                            Collections.emptyMap(),
-                            new int[] {1, 1, 1},
-                            xml,
-                            new int[] {0},
-                            new LinkedHashSet<>(),
-                            FromType.FOR_CONVERT);
-            if (checkResult(xml, document, result, FromType.FOR_CONVERT)) {
-                return ((Map.Entry) ((Map) result).entrySet().iterator().next()).getValue();
-            }
-            return result;
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex);
-        }
+        return parseXml(
+                xml,
+                (object, namespaces) -> String.valueOf(object),
+                object ->
+                        object instanceof List
+                                ? object
+                                : new ArrayList<>(Collections.singletonList(object)),
+                FromType.FOR_CONVERT,
+                LinkedHashMap::new);
     }
 
     public static Object fromXmlWithElementMapper(
             final String xml, final BiFunction<Object, Set<String>, String> elementMapper) {
-        try {
-            org.w3c.dom.Document document = Document.createDocument(xml);
-            final Object result =
-                    createMap(
-                            document,
-                            elementMapper,
-                            object -> object,
-                            Collections.emptyMap(),
-                            new int[] {1, 1, 1},
-                            xml,
-                            new int[] {0},
-                            new LinkedHashSet<>(),
-                            FromType.FOR_CONVERT);
-            if (checkResult(xml, document, result, FromType.FOR_CONVERT)) {
-                return ((Map.Entry) ((Map) result).entrySet().iterator().next()).getValue();
-            }
-            return result;
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex);
-        }
+        return parseXml(
+                xml, elementMapper, object -> object, FromType.FOR_CONVERT, LinkedHashMap::new);
     }
 
     public static Object fromXmlWithoutNamespaces(final String xml) {
@@ -1933,6 +2170,456 @@ public final class Xml {
                 });
     }
 
+    public static class XmlRecordReader implements Iterator<Map<String, Object>>, Closeable {
+        private static final int BUFFER_SIZE = 8192;
+        private static final int OTHER_MARKUP = 0;
+        private static final int START_TAG = 1;
+        private static final int END_TAG = 2;
+        private static final String WRAPPER = "record-namespaces";
+        private final Reader reader;
+        private final List<String> path = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<Map<String, String>> namespaces = new ArrayList<>();
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder markup = new StringBuilder();
+        private final StringBuilder record = new StringBuilder();
+        private int position;
+        private int limit;
+        private String doctype;
+        private Map<String, Object> nextRecord;
+
+        public XmlRecordReader(final Reader reader, final String path) {
+            this.reader = reader;
+            for (String name : path.split("/")) {
+                if (!name.isEmpty()) {
+                    this.path.add(name);
+                }
+            }
+            if (this.path.isEmpty()) {
+                throw new IllegalArgumentException("Record path is empty");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRecord == null) {
+                nextRecord = readRecord();
+            }
+            return nextRecord != null;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Map<String, Object> result = nextRecord;
+            nextRecord = null;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private Map<String, Object> readRecord() {
+            int ch;
+            while ((ch = read()) != -1) {
+                if (ch != '<') {
+                    continue;
+                }
+                final int type = readMarkup();
+                if (type == START_TAG) {
+                    final String name = getTagName(1);
+                    final boolean selfClosing = isSelfClosing();
+                    if (matches(name)) {
+                        record.setLength(0);
+                        record.append(markup);
+                        if (!selfClosing) {
+                            readRecordContent();
+                        }
+                        return parseRecord(name, record.toString());
+                    }
+                    if (!selfClosing) {
+                        names.add(name);
+                        namespaces.add(getNamespaceDeclarations(name));
+                    }
+                } else if (type == END_TAG && !names.isEmpty()) {
+                    names.remove(names.size() - 1);
+                    namespaces.remove(namespaces.size() - 1);
+                } else if (names.isEmpty() && markup.indexOf(DOCTYPE_HEADER) == 0) {
+                    doctype = markup.toString();
+                }
+            }
+            return null;
+        }
+
+        private void readRecordContent() {
+            int depth = 1;
+            int ch;
+            while (depth > 0 && (ch = read()) != -1) {
+                if (ch != '<') {
+                    record.append((char) ch);
+                    continue;
+                }
+                final int type = readMarkup();
+                record.append(markup);
+                if (type == START_TAG && !isSelfClosing()) {
+                    depth += 1;
+                } else if (type == END_TAG) {
+                    depth -= 1;
+                }
+            }
+        }
+
+        private boolean matches(final String name) {
+            final int parents = path.size() - 1;
+            if (!path.get(parents).equals(name) || names.size() < parents) {
+                return false;
+            }
+            final int offset = names.size() - parents;
+            for (int index = 0; index < parents; index += 1) {
+                if (!path.get(index).equals(names.get(offset + index))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> parseRecord(final String name, final String xml) {
+            final Map<String, String> declarations = new LinkedHashMap<>();
+            for (Map<String, String> scope : namespaces) {
+                declarations.putAll(scope);
+            }
+            if (declarations.isEmpty() && doctype == null) {
+                return (Map<String, Object>) fromXml(xml);
+            }
+            final StringBuilder wrapped = new StringBuilder();
+            if (doctype != null) {
+                wrapped.append(doctype);
+            }
+            wrapped.append('<').append(WRAPPER);
+            for (Map.Entry<String, String> declaration : declarations.entrySet()) {
+                wrapped.append(' ')
+                        .append(declaration.getKey())
+                        .append("=\"")
+                        .append(declaration.getValue().replace("\"", QUOT))
+                        .append('"');
+            }
+            wrapped.append('>').append(xml).append("</").append(WRAPPER).append('>');
+            final Map<String, Object> document =
+                    (Map<String, Object>) fromXml(wrapped.toString());
+            final Map<String, Object> wrapper = (Map<String, Object>) document.get(WRAPPER);
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put(name, wrapper.get(name));
+            result.put(OMITXMLDECLARATION, YES);
+            return result;
+        }
+
+        private Map<String, String> getNamespaceDeclarations(final String name) {
+            final int end = markup.length() - (isSelfClosing() ? 2 : 1);
+            final Map<String, String> result = new LinkedHashMap<>();
+            for (Map.Entry<String, String> attribute :
+                    parseAttributes(markup.substring(name.length() + 1, end)).entrySet()) {
+                if ("xmlns".equals(attribute.getKey()) || attribute.getKey().startsWith("xmlns:")) {
+                    result.put(attribute.getKey(), attribute.getValue());
+                }
+            }
+            return result;
+        }
+
+        private String getTagName(final int start) {
+            int end = start;
+            while (end < markup.length()
+                    && !Character.isWhitespace(markup.charAt(end))
+                    && markup.charAt(end) != '/'
+                    && markup.charAt(end) != '>') {
+                end += 1;
+            }
+            return markup.substring(start, end);
+        }
+
+        private boolean isSelfClosing() {
+            return markup.length() > 1 && markup.charAt(markup.length() - 2) == '/';
+        }
+
+        private int readMarkup() {
+            markup.setLength(0);
+            markup.append('<');
+            final int ch = read();
+            if (ch == -1) {
+                return OTHER_MARKUP;
+            }
+            markup.append((char) ch);
+            if (ch == '?') {
+                readUntil("?>");
+                return OTHER_MARKUP;
+            }
+            if (ch == '!') {
+                readDeclaration();
+                return OTHER_MARKUP;
+            }
+            if (ch == '/') {
+                readUntil(">");
+                return END_TAG;
+            }
+            readTag();
+            return START_TAG;
+        }
+
+        private void readDeclaration() {
+            final int ch = read();
+            if (ch == -1) {
+                return;
+            }
+            markup.append((char) ch);
+            if (ch == '-') {
+                readUntil("-->");
+            } else if (ch == '[') {
+                readUntil("]]>");
+            } else {
+                readTag();
+            }
+        }
+
+        private void readTag() {
+            char quote = 0;
+            int brackets = 0;
+            int ch;
+            while ((ch = read()) != -1) {
+                markup.append((char) ch);
+                if (quote != 0) {
+                    if (ch == quote) {
+                        quote = 0;
+                    }
+                } else if (ch == '"' || ch == '\'') {
+                    quote = (char) ch;
+                } else if (ch == '[') {
+                    brackets += 1;
+                } else if (ch == ']') {
+                    brackets -= 1;
+                } else if (ch == '>' && brackets <= 0) {
+                    return;
+                }
+            }
+        }
+
+        private void readUntil(final String terminator) {
+            final int length = terminator.length();
+            int ch;
+            while ((ch = read()) != -1) {
+                markup.append((char) ch);
+                if (ch == terminator.charAt(length - 1)
+                        && markup.length() >= length + 1
+                        && markup.indexOf(terminator, markup.length() - length) >= 0) {
+                    return;
+                }
+            }
+        }
+
+        private int read() {
+            if (position == limit) {
+                try {
+                    limit = reader.read(buffer, 0, buffer.length);
+                } catch (IOException ex) {
+                    throw new UnsupportedOperationException(ex);
+                }
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+
+    public static Stream<Map<String, Object>> readXmlRecords(
+            final Reader reader, final String path) {
+        final XmlRecordReader recordReader = new XmlRecordReader(reader, path);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(recordReader, Spliterator.ORDERED),
+                        false)
+                .onClose(
+                        () -> {
+                            try {
+                                recordReader.close();
+                            } catch (IOException ex) {
+                                throw new UnsupportedOperationException(ex);
+                            }
+                        });
+    }
+
+    public interface XmlEventHandler {
+        default void startElement(String name, Map<String, String> attributes) {}
+
+        default void endElement(String name) {}
+
+        default void text(String text) {}
+
+        default void comment(String comment) {}
+
+        default void cdata(String cdata) {}
+
+        default void processingInstruction(String target, String data) {}
+    }
+
+    public static void readXmlEvents(final String xml, final XmlEventHandler handler) {
+        readXmlEvents(new java.io.StringReader(xml), handler);
+    }
+
+    public static void readXmlEvents(final Reader xmlReader, final XmlEventHandler handler) {
+        try {
+            final javax.xml.stream.XMLStreamReader reader =
+                    XML_INPUT_FACTORIES.get().createXMLStreamReader(xmlReader);
+            try {
+                fireEvents(reader, handler);
+            } finally {
+                reader.close();
+            }
+        } catch (javax.xml.stream.XMLStreamException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static void fireEvents(
+            final javax.xml.stream.XMLStreamReader reader, final XmlEventHandler handler)
+            throws javax.xml.stream.XMLStreamException {
+        final StaxAttributes attributes = new StaxAttributes(reader);
+        StringBuilder text = null;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == javax.xml.stream.XMLStreamConstants.CHARACTERS
+                    || event == javax.xml.stream.XMLStreamConstants.SPACE
+                    || event == javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                if (event == javax.xml.stream.XMLStreamConstants.ENTITY_REFERENCE) {
+                    text.append(reader.getText());
+                } else {
+                    text.append(
+                            reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                }
+                continue;
+            }
+            if (text != null) {
+                handler.text(text.toString());
+                text = null;
+            }
+            switch (event) {
+                case javax.xml.stream.XMLStreamConstants.START_ELEMENT:
+                    handler.startElement(getQualifiedName(reader), attributes);
+                    break;
+                case javax.xml.stream.XMLStreamConstants.END_ELEMENT:
+                    handler.endElement(getQualifiedName(reader));
+                    break;
+                case javax.xml.stream.XMLStreamConstants.COMMENT:
+                    handler.comment(reader.getText());
+                    break;
+                case javax.xml.stream.XMLStreamConstants.CDATA:
+                    handler.cdata(reader.getText());
+                    break;
+                case javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    handler.processingInstruction(
+                            reader.getPITarget(),
+                            reader.getPIData() == null ? "" : reader.getPIData());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static final class StaxAttributes extends AbstractMap<String, String> {
+        private final javax.xml.stream.XMLStreamReader reader;
+        private final Set<Map.Entry<String, String>> entries =
+                new AbstractSet<Map.Entry<String, String>>() {
+                    @Override
+                    public Iterator<Map.Entry<String, String>> iterator() {
+                        return new Iterator<Map.Entry<String, String>>() {
+                            private int index;
+
+                            @Override
+                            public boolean hasNext() {
+                                return index < size();
+                            }
+
+                            @Override
+                            public Map.Entry<String, String> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                final int current = index++;
+                                return new SimpleImmutableEntry<>(
+                                        nameAt(current), valueAt(current));
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return StaxAttributes.this.size();
+                    }
+                };
+
+        StaxAttributes(final javax.xml.stream.XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int size() {
+            return reader.getNamespaceCount() + reader.getAttributeCount();
+        }
+
+        @Override
+        public String get(final Object key) {
+            final int size = size();
+            for (int index = 0; index < size; index += 1) {
+                if (nameAt(index).equals(key)) {
+                    return valueAt(index);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            final int size = size();
+            for (int index = 0; index < size; index += 1) {
+                if (nameAt(index).equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return entries;
+        }
+
+        private String nameAt(final int index) {
+            final int namespaceCount = reader.getNamespaceCount();
+            if (index < namespaceCount) {
+                final String prefix = reader.getNamespacePrefix(index);
+                return prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix;
+            }
+            final String prefix = reader.getAttributePrefix(index - namespaceCount);
+            final String localName = reader.getAttributeLocalName(index - namespaceCount);
+            return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+        }
+
+        private String valueAt(final int index) {
+            final int namespaceCount = reader.getNamespaceCount();
+            return index < namespaceCount
+                    ? reader.getNamespaceURI(index)
+                    : reader.getAttributeValue(index - namespaceCount);
+        }
+    }
+
     public static String formatXml(String xml, XmlStringBuilder.Step identStep) {
         Object result = fromXml(xml, FromType.FOR_FORMAT);
         return toXml((Map) result, identStep, ROOT);
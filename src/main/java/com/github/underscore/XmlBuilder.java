@@ -136,6 +136,15 @@ public class XmlBuilder {
         }
     }
 
+    public org.w3c.dom.Document getDocument(
+            final javax.xml.parsers.DocumentBuilderFactory factory) {
+        try {
+            return Xml.Document.createDocument(asString(), factory);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
     public XmlBuilder set(final String path, final Object value) {
         U.set(data, path, value);
         return this;
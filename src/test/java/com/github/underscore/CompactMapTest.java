@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.underscore.Json.ParseOptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+class CompactMapTest {
+
+    @Test
+    void putGetAndOrder() {
+        Map<String, Object> map = new CompactMap<>();
+        Map<String, Object> expected = new LinkedHashMap<>();
+        for (int index = 0; index < 40; index++) {
+            map.put("key" + (index * 7 % 40), index);
+            expected.put("key" + (index * 7 % 40), index);
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.toString(), map.toString());
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(21, map.get("key27"));
+        assertEquals(21, map.put("key27", "new"));
+        assertEquals("new", map.get("key27"));
+        assertNull(map.get("missing"));
+        assertFalse(map.containsKey("missing"));
+        map.put(null, "null key");
+        assertEquals("null key", map.get(null));
+        assertTrue(map.containsKey(null));
+    }
+
+    @Test
+    void remove() {
+        Map<String, Object> map = new CompactMap<>();
+        Map<String, Object> expected = new LinkedHashMap<>();
+        for (int index = 0; index < 12; index++) {
+            map.put("k" + index, index);
+            expected.put("k" + index, index);
+        }
+        for (int index = 0; index < 12; index += 3) {
+            assertEquals(expected.remove("k" + index), map.remove("k" + index));
+            assertEquals(expected.toString(), map.toString());
+        }
+        assertNull(map.remove("k0"));
+        for (int index = 1; index < 12; index += 3) {
+            map.remove("k" + index);
+            expected.remove("k" + index);
+        }
+        assertEquals(expected, map);
+        assertEquals(5, map.get("k5"));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get("k5"));
+    }
+
+    @Test
+    void entryIterator() {
+        Map<String, Integer> map = new CompactMap<>(new LinkedHashMap<>(Map.of("a", 1)));
+        map.put("b", 2);
+        map.put("c", 3);
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        Map.Entry<String, Integer> entry = iterator.next();
+        assertEquals("a=1", entry.toString());
+        assertEquals(Map.entry("a", 1), entry);
+        assertEquals(Map.entry("a", 1).hashCode(), entry.hashCode());
+        assertEquals(1, entry.setValue(10));
+        assertEquals(10, map.get("a"));
+        iterator.remove();
+        assertEquals("b", iterator.next().getKey());
+        assertEquals("c", iterator.next().getKey());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals("{b=2, c=3}", map.toString());
+        Iterator<Map.Entry<String, Integer>> iterator2 = map.entrySet().iterator();
+        map.put("d", 4);
+        assertThrows(ConcurrentModificationException.class, iterator2::next);
+        map.entrySet().clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void entriesFollowTheirKeyAfterRemoval() {
+        Map<String, Integer> map = new CompactMap<>();
+        for (int index = 0; index < 12; index++) {
+            map.put("k" + index, index);
+        }
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        Map.Entry<String, Integer> first = iterator.next();
+        Map.Entry<String, Integer> second = iterator.next();
+        Map.Entry<String, Integer> third = iterator.next();
+        map.remove("k0");
+        map.remove("k1");
+        for (int index = 4; index < 12; index++) {
+            map.remove("k" + index);
+        }
+        assertEquals("k2", third.getKey());
+        assertEquals(2, third.getValue());
+        assertEquals(2, third.setValue(20));
+        assertEquals(20, map.get("k2"));
+        assertEquals(3, map.get("k3"));
+        assertEquals("k1=1", second.toString());
+        assertEquals(1, second.setValue(10));
+        assertFalse(map.containsKey("k1"));
+        assertEquals(Map.entry("k0", 0), first);
+    }
+
+    @Test
+    void randomOperationsMatchLinkedHashMap() {
+        Map<Integer, Integer> map = new CompactMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 20000; step++) {
+            Integer key = random.nextInt(300) << 16;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, step), map.put(key, step));
+            }
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected.toString(), map.toString());
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+        Iterator<Map.Entry<Integer, Integer>> expectedIterator = expected.entrySet().iterator();
+        while (expectedIterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = expectedIterator.next();
+            assertEquals(entry, iterator.next());
+            if (entry.getKey() % 3 == 0) {
+                expectedIterator.remove();
+                iterator.remove();
+            }
+        }
+        assertFalse(iterator.hasNext());
+        assertEquals(expected, map);
+        for (Integer key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void drainThroughIterator() {
+        Map<Integer, Integer> map = new CompactMap<>();
+        for (int index = 0; index < 200000; index++) {
+            map.put(index, index);
+        }
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            assertEquals(count, iterator.next().getKey());
+            iterator.remove();
+            count++;
+        }
+        assertEquals(200000, count);
+        assertTrue(map.isEmpty());
+        map.put(1, 1);
+        assertEquals(Map.of(1, 1), map);
+    }
+
+    @Test
+    void fromJsonAndXmlWithCompactMaps() {
+        String json = "{\"a\": {\"b\": [1, {\"c\": 2}]}, \"d\": \"e\"}";
+        Map<String, Object> map = U.fromJson(json, new ParseOptions().compactMaps(true));
+        assertInstanceOf(CompactMap.class, map);
+        assertInstanceOf(CompactMap.class, map.get("a"));
+        assertEquals(U.fromJson(json), map);
+        assertEquals(2L, (Long) U.get(map, "a.b[1].c"));
+        U.set(map, "a.b[1].c", 3L);
+        assertEquals(3L, (Long) U.get(map, "a.b[1].c"));
+        Map<String, Object> iterative =
+                U.fromJson(json, new ParseOptions().compactMaps(true).iterative(true));
+        assertInstanceOf(CompactMap.class, iterative);
+        assertEquals(U.fromJson(json), iterative);
+        String xml =
+                "<?xml version=\"1.0\" encoding=\"windows-1251\"?><a x=\"1\"><b number=\"true\">2</b>"
+                        + "<c/><d>1</d><d>2</d><!--c--><e><![CDATA[text]]></e></a>";
+        Object compact = Xml.fromXml(xml, Xml.FromType.FOR_CONVERT, true);
+        assertInstanceOf(CompactMap.class, compact);
+        assertEquals(U.fromXml(xml), compact);
+        assertEquals(U.toXml((Map) U.fromXml(xml)), U.toXml((Map) compact));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.underscore.Json.JsonStringBuilder;
+import com.github.underscore.Xml.XmlStringBuilder;
+
+import org.junit.jupiter.api.Test;
+
+class IndentationTest {
+
+    @Test
+    void deepIndentation() {
+        JsonStringBuilder jsonBuilder = new JsonStringBuilder(JsonStringBuilder.Step.TWO_SPACES);
+        for (int index = 0; index < 150; index++) {
+            jsonBuilder.incIndent();
+        }
+        assertEquals(" ".repeat(300), jsonBuilder.fillSpaces().toString());
+        JsonStringBuilder tabs = new JsonStringBuilder(JsonStringBuilder.Step.TABS);
+        for (int index = 0; index < 70; index++) {
+            tabs.incIndent();
+        }
+        assertEquals("\t".repeat(70), tabs.fillSpaces().toString());
+        XmlStringBuilder xmlBuilder =
+                new XmlStringBuilder(new StringBuilder(), XmlStringBuilder.Step.FOUR_SPACES, 0);
+        for (int index = 0; index < 100; index++) {
+            xmlBuilder.incIdent();
+        }
+        assertEquals(" ".repeat(400) + "\n</root>", xmlBuilder.fillSpaces().toString());
+        assertEquals(
+                "\n</root>",
+                new XmlStringBuilder(new StringBuilder(), XmlStringBuilder.Step.TWO_SPACES, -2)
+                        .fillSpaces()
+                        .toString());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.JsonStringBuilder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class JsonBeansTest {
+
+    enum Status {
+        X,
+        Y,
+        Z
+    }
+
+    public static class Item {
+        private final String name;
+        private final long count;
+
+        Item(String name, long count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        public List<Object> getTags() {
+            return asList(Status.X, new Named("n"));
+        }
+
+        public static String getIgnored() {
+            return "static";
+        }
+    }
+
+    static class Named {
+        private final String value;
+
+        Named(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return "named:" + value;
+        }
+    }
+
+    static class Label {
+        @Override
+        public String toString() {
+            return "label";
+        }
+    }
+
+    public static class Node {
+        private Node next;
+
+        public Node getNext() {
+            return next;
+        }
+    }
+
+    public static class Flag {
+        public boolean isActive() {
+            return true;
+        }
+
+        public String getActive() {
+            return "shadowed";
+        }
+    }
+
+    @Test
+    void toJsonBeans() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("item", new Item("a\"b", 2));
+        assertEquals(
+                "{\"item\":{\"count\":2,\"empty\":false,\"name\":\"a\\\"b\","
+                        + "\"tags\":[\"X\",{\"value\":\"n\"}]}}",
+                Json.toJson(map, JsonStringBuilder.Step.COMPACT));
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("count", 0L);
+        expected.put("empty", true);
+        expected.put("name", "c");
+        expected.put("tags", asList("X", Map.of("value", "n")));
+        assertEquals(Json.toJson(expected), Json.toJson((Object) new Item("c", 0)));
+        assertEquals(
+                "{\"value\":\"v\"}",
+                Json.toJson((Object) new Named("v"), JsonStringBuilder.Step.COMPACT));
+        assertEquals("\"label\"", Json.toJson(new Label()));
+        assertTrue(Json.toJson(new Object()).startsWith("\"java.lang.Object@"));
+        assertEquals("{\"active\":true}", Json.toJson(new Flag(), JsonStringBuilder.Step.COMPACT));
+        Node node = new Node();
+        node.next = new Node();
+        assertEquals(
+                "{\"next\":{\"next\":null}}", Json.toJson(node, JsonStringBuilder.Step.COMPACT));
+        node.next.next = node;
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> Json.toJson(node));
+        assertEquals(
+                "Cyclic reference to com.github.underscore.JsonBeansTest$Node",
+                exception.getMessage());
+        Node shared = new Node();
+        assertEquals(
+                "[{\"next\":null},{\"next\":null}]",
+                Json.toJson(asList(shared, shared), JsonStringBuilder.Step.COMPACT));
+    }
+}
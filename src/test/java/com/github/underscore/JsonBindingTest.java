@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.ParseException;
+import com.github.underscore.JsonBeansTest.Named;
+import com.github.underscore.JsonBeansTest.Status;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+class JsonBindingTest {
+
+    public static class Order {
+        private String id;
+        private int quantity;
+        private boolean paid;
+        private Status status;
+        private List<Line> lines;
+        private Map<String, Double> prices;
+        private long[] codes;
+        private Object extra;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public boolean isPaid() {
+            return paid;
+        }
+
+        public void setPaid(boolean paid) {
+            this.paid = paid;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public List<Line> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<Line> lines) {
+            this.lines = lines;
+        }
+
+        public Map<String, Double> getPrices() {
+            return prices;
+        }
+
+        public void setPrices(Map<String, Double> prices) {
+            this.prices = prices;
+        }
+
+        public long[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(long[] codes) {
+            this.codes = codes;
+        }
+
+        public Object getExtra() {
+            return extra;
+        }
+
+        public void setExtra(Object extra) {
+            this.extra = extra;
+        }
+    }
+
+    public static class Line {
+        private String sku;
+        private BigDecimal amount;
+        private List<Line> children;
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public List<Line> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Line> children) {
+            this.children = children;
+        }
+    }
+
+    @Test
+    void fromJsonTyped() {
+        String json =
+                "{\"id\":\"o1\",\"quantity\":3,\"paid\":true,\"status\":\"Y\",\"unknown\":"
+                        + "{\"a\":[1,{\"b\":2}]},\"lines\":[{\"sku\":\"s1\",\"amount\":1.10,"
+                        + "\"children\":[{\"sku\":\"s2\"}]},null],\"prices\":{\"x\":1.5,\"y\":2},"
+                        + "\"codes\":[1,2,3],\"extra\":{\"k\":[true]}}";
+        Order order = U.fromJson(json, Order.class);
+        assertEquals("o1", order.getId());
+        assertEquals(3, order.getQuantity());
+        assertTrue(order.isPaid());
+        assertEquals(Status.Y, order.getStatus());
+        assertEquals(2, order.getLines().size());
+        assertEquals("s1", order.getLines().get(0).getSku());
+        assertEquals(new BigDecimal("1.10"), order.getLines().get(0).getAmount());
+        assertEquals("s2", order.getLines().get(0).getChildren().get(0).getSku());
+        assertNull(order.getLines().get(1));
+        assertEquals(2.0, order.getPrices().get("y"));
+        assertEquals(3, order.getCodes().length);
+        assertEquals(Map.of("k", asList(true)), order.getExtra());
+        Order empty = Json.fromJson("{\"quantity\":null}", Order.class);
+        assertEquals(0, empty.getQuantity());
+        assertNull(empty.getLines());
+        assertEquals(
+                Map.of("a", 1L),
+                Json.fromJson(
+                        new ByteArrayInputStream("{\"a\":1}".getBytes(StandardCharsets.UTF_8)),
+                        Map.class));
+        assertEquals(asList("a", null), Json.fromJson("[\"a\",null]", List.class));
+        assertEquals(7, (int) Json.fromJson("7", int.class));
+        assertEquals('c', (char) Json.fromJson("\"c\"", Character.class));
+        assertNull(Json.fromJson("null", String.class));
+        assertEquals(2, Json.fromJson("[\"X\",\"Z\"]", Status[].class).length);
+        assertThrows(
+                IllegalArgumentException.class, () -> Json.fromJson("{\"id\":1}", Order.class));
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("[1]", Order.class));
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("{}", Named.class));
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("true", long.class));
+        assertThrows(ParseException.class, () -> Json.fromJson("1 2", long.class));
+        assertThrows(
+                IllegalArgumentException.class, () -> Json.fromJson("{\"quantity\":3.7}", Order.class));
+        assertThrows(
+                IllegalArgumentException.class, () -> Json.fromJson("{\"quantity\":1e10}", Order.class));
+        assertEquals(100, Json.fromJson("{\"quantity\":1e2}", Order.class).getQuantity());
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("1.5", BigInteger.class));
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("-129", byte.class));
+        assertThrows(IllegalArgumentException.class, () -> Json.fromJson("40000", short.class));
+        assertEquals(-128, (byte) Json.fromJson("-128", byte.class));
+    }
+
+    @Test
+    void fromJsonTypedMaxDepth() throws InterruptedException {
+        final int depth = 10_001;
+        final String json = "{\"children\":[".repeat(depth) + "{}" + "]}".repeat(depth);
+        final Throwable[] thrown = new Throwable[1];
+        Thread thread =
+                new Thread(
+                        null,
+                        () -> {
+                            try {
+                                Json.fromJson(json, Line.class);
+                            } catch (Throwable ex) {
+                                thrown[0] = ex;
+                            }
+                        },
+                        "deep-binding",
+                        1L << 28);
+        thread.start();
+        thread.join();
+        assertTrue(thrown[0] instanceof ParseException, String.valueOf(thrown[0]));
+        assertTrue(thrown[0].getMessage().startsWith("Maximum depth exceeded"));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.JsonReader;
+import com.github.underscore.Json.LongList;
+import com.github.underscore.Json.ParseException;
+import com.github.underscore.Json.ParseOptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+
+class JsonBytesTest {
+
+    @Test
+    void fromJsonBytes() {
+        String json =
+                "{\"name\": \"Привіт €\", \"escaped\": \"a\\tb\\u0041ї\", \"list\": [1, 2.5,"
+                        + " true, false, null, {}], \"big\": 12345678901234567890}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(U.fromJson(json), Json.fromJson(bytes));
+        byte[] bytesWithBom = new byte[bytes.length + 3];
+        bytesWithBom[0] = (byte) 0xEF;
+        bytesWithBom[1] = (byte) 0xBB;
+        bytesWithBom[2] = (byte) 0xBF;
+        System.arraycopy(bytes, 0, bytesWithBom, 3, bytes.length);
+        assertEquals(U.fromJson(json), Json.fromJson(bytesWithBom));
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(U.fromJson(json), Json.fromJson(direct));
+        assertEquals(
+                U.fromJson(json),
+                Json.fromJson(ByteBuffer.wrap(bytesWithBom, 3, bytes.length).slice()));
+        ParseException exception =
+                assertThrows(
+                        ParseException.class,
+                        () -> Json.fromJson("{\"a\":\n  1,}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("Expected name at 2:4", exception.getMessage());
+        assertEquals(10, exception.getOffset());
+        assertThrows(
+                ParseException.class,
+                () -> Json.fromJson("[1] 2".getBytes(StandardCharsets.UTF_8), 10));
+    }
+
+    @Test
+    void fromJsonBytesMatchesStringParser() {
+        String json =
+                "{\"ключ\": [1, 2, 3], \"n\": [1.50, 1e400, 12345678901234567890, -0.0],"
+                        + " \"😀\": {\"a\": [[1]]}}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ParseOptions options =
+                new ParseOptions().internKeys(true).compactMaps(true).primitiveArrays(true);
+        Object fromBytes = Json.fromJson(bytes, options);
+        assertEquals(Json.fromJson(json, options), fromBytes);
+        assertInstanceOf(CompactMap.class, fromBytes);
+        assertInstanceOf(LongList.class, ((Map<?, ?>) fromBytes).get("ключ"));
+        assertEquals(
+                U.fromJson(json).toString(),
+                Json.fromJson(bytes, new ParseOptions().iterative(true)).toString());
+        for (String invalid : new String[] {"{\"ключ\": x}", "[\"😀\",\n \"é\" 1]", "[\"ї\""}) {
+            ParseException expected = assertThrows(ParseException.class, () -> U.fromJson(invalid));
+            ParseException actual =
+                    assertThrows(
+                            ParseException.class,
+                            () -> Json.fromJson(invalid.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(expected.getMessage(), actual.getMessage());
+            assertEquals(expected.getOffset(), actual.getOffset());
+        }
+    }
+
+    @Test
+    void fromJsonEntryPointsAgree() {
+        Function<String, Object> bytes =
+                json -> Json.fromJson(json.getBytes(StandardCharsets.UTF_8));
+        Function<String, Object> reader =
+                json -> {
+                    JsonReader jsonReader = new JsonReader(new StringReader(json), 2);
+                    jsonReader.nextToken();
+                    return jsonReader.readValue();
+                };
+        for (String json :
+                asList(
+                        "[\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\uZZZZ\"]",
+                        "[0, -0, 1.5e3, -2E-2, 1e400, 12345678901234567890, 0.10, 7]",
+                        "{\"t\": true, \"f\": false, \"n\": null}")) {
+            assertEquals(U.fromJson(json), bytes.apply(json));
+            assertEquals(U.fromJson(json), reader.apply(json));
+        }
+        for (String json :
+                asList("[tru]", "[nul]", "[1.]", "[1e+]", "[-]", "[\"\\x\"]", "[\"a\nb\"]", "[\"a")) {
+            String message =
+                    assertThrows(ParseException.class, () -> U.fromJson(json)).getMessage();
+            assertEquals(
+                    message,
+                    assertThrows(ParseException.class, () -> bytes.apply(json)).getMessage());
+            assertEquals(
+                    message,
+                    assertThrows(ParseException.class, () -> reader.apply(json)).getMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.JsonBeansTest.Item;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class JsonCanonicalTest {
+
+    @Test
+    void canonicalJson() throws Exception {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("b", asList(1, 1.0, new BigDecimal("1.50"), -0.0, 2.5f, Double.NaN));
+        first.put("a", Map.of("y", "\u00e9", "x", new BigInteger("12345678901234567890")));
+        first.put("\u00e9", new Item("n", 1));
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("x", new BigDecimal("12345678901234567890.000"));
+        nested.put("y", "\u00e9");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("\u00e9", new Item("n", 1));
+        second.put("a", nested);
+        second.put("b", asList(1L, 1.0f, 1.5, new BigDecimal("0E+3"), 2.5, null));
+        String canonical = Json.toCanonicalJson(first);
+        assertEquals(
+                "{\"a\":{\"x\":12345678901234567890,\"y\":\"\u00e9\"},\"b\":[1,1,1.5,0,2.5,null],"
+                        + "\"\u00e9\":{\"count\":1,\"empty\":false,\"name\":\"n\","
+                        + "\"tags\":[\"X\",{\"value\":\"n\"}]}}",
+                canonical);
+        assertEquals(canonical, Json.toCanonicalJson(second));
+        byte[] expected =
+                MessageDigest.getInstance("SHA-256")
+                        .digest(canonical.getBytes(StandardCharsets.UTF_8));
+        assertTrue(Arrays.equals(expected, Json.canonicalDigest(first, "SHA-256")));
+        assertTrue(
+                Arrays.equals(
+                        Json.canonicalDigest(Map.of("k", 1, "j", 2), "SHA-256"),
+                        Json.canonicalDigest(Map.of("j", 2.0, "k", 1L), "SHA-256")));
+        assertThrows(IllegalArgumentException.class, () -> Json.canonicalDigest(first, "NOPE"));
+        assertEquals(
+                "[100000000000000000000,100000000000000000000,100000000000000000000,0.00001,0.1]",
+                Json.toCanonicalJson(
+                        asList(
+                                1e20,
+                                new BigDecimal("1.00E+20"),
+                                BigInteger.TEN.pow(20),
+                                1e-5,
+                                0.1f)));
+        assertEquals(
+                Json.toCanonicalJson(asList(1, 0.5, 1e20)),
+                Json.toCanonicalJson(new double[] {1.0, 0.5, 1e20}));
+        assertEquals(
+                Json.toCanonicalJson(asList(1, 0.1, 0.00001)),
+                Json.toCanonicalJson(new float[] {1.0f, 0.1f, 1e-5f}));
+        Map<String, Object> unsorted = new LinkedHashMap<>();
+        unsorted.put("b", 1.0);
+        unsorted.put("a", 2);
+        assertEquals("{\n  \"b\": 1.0,\n  \"a\": 2\n}", Json.toJson(unsorted));
+    }
+}
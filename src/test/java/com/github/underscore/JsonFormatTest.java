@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.underscore.Json.JsonStringBuilder;
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+class JsonFormatTest {
+
+    @Test
+    void formatJsonStreaming() throws IOException {
+        String json =
+                "{\"a\":[1,{\"b\":[]},{}, \"x\\/\\u00e9\"],\"c\":{\"d\":null,\"e\":true},"
+                        + "\"f\":false,\"g\":[[]]}";
+        for (JsonStringBuilder.Step step : JsonStringBuilder.Step.values()) {
+            assertEquals(
+                    Json.toJson((Map) Json.fromJson(json), step), Json.formatJson(json, step));
+        }
+        assertEquals(
+                "[\n  1e2,\n  -0.10,\n  123456789012345678901234567890\n]",
+                Json.formatJson("[1e2, -0.10,123456789012345678901234567890]"));
+        assertEquals("\"\\n\"", Json.formatJson(" \"\\n\" "));
+        assertEquals("null", Json.formatJson("null"));
+        StringWriter writer = new StringWriter();
+        Json.formatJson(new StringReader(json), writer, JsonStringBuilder.Step.FOUR_SPACES);
+        assertEquals(Json.formatJson(json, JsonStringBuilder.Step.FOUR_SPACES), writer.toString());
+        assertThrows(ParseException.class, () -> Json.formatJson(""));
+        assertThrows(ParseException.class, () -> Json.formatJson("[1,]"));
+        assertThrows(ParseException.class, () -> Json.formatJson("{} {}"));
+    }
+}
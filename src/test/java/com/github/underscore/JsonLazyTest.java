@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class JsonLazyTest {
+
+    @Test
+    void fromJsonLazy() {
+        String json =
+                "{\"order\": {\"id\": 17, \"items\": [{\"sku\": \"a\\\"b\"}, {\"sku\": \"[c]\"}],"
+                        + " \"total\": 1.5}, \"k\\u0065y\": true, \"empty\": {}, \"list\": [],"
+                        + " \"a1\": 1, \"a2\": 2, \"a3\": 3, \"a4\": 4, \"a5\": 5, \"a6\": 6,"
+                        + " \"a2\": null}";
+        Map<String, Object> lazy = U.fromJsonLazy(json);
+        assertEquals("a\"b", U.get(lazy, "order.items[0].sku"));
+        assertEquals("[c]", U.get(lazy, "order.items.1.sku"));
+        assertEquals(17L, (Long) U.get(lazy, "order.id"));
+        assertEquals(Boolean.TRUE, lazy.get("key"));
+        assertTrue(lazy.containsKey("a2"));
+        assertNull(lazy.get("a2"));
+        assertNull(lazy.get("missing"));
+        assertEquals(U.fromJson(json), lazy);
+        assertEquals(U.toJson((Map) U.fromJson(json)), U.toJson(lazy));
+        assertEquals(Json.fromJson("[1, [2, {}], \"x\"]"), Json.fromJsonLazy(" [1, [2, {}], \"x\"] "));
+        assertEquals("x", Json.fromJsonLazy("\"x\""));
+        assertThrows(IndexOutOfBoundsException.class, () -> ((List) U.fromJsonLazy("[1]")).get(1));
+        assertThrows(UnsupportedOperationException.class, () -> lazy.put("a", 1));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("{\"a\": [1}"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("{\"a\": [1]"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("{\"a\" 1}"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("{\"a\": }"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("[1 2]"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("{1: 2}"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("[1] 2"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("\"abc"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy(" "));
+        ParseException exception =
+                assertThrows(ParseException.class, () -> Json.fromJsonLazy("{\n\"a\": 1 ]"));
+        assertEquals("Unexpected character at 2:7", exception.getMessage());
+        List<Object> deferred = U.fromJsonLazy("[1, tru]");
+        assertEquals(1L, deferred.get(0));
+        assertThrows(ParseException.class, () -> deferred.get(1));
+        Map<String, Object> trailing = U.fromJsonLazy("{\"a\":12x, \"b\": true1, \"c\": 3 }");
+        ParseException trailingException =
+                assertThrows(ParseException.class, () -> trailing.get("a"));
+        assertEquals("Unexpected character at 1:7", trailingException.getMessage());
+        assertThrows(ParseException.class, () -> trailing.get("b"));
+        assertEquals(3L, trailing.get("c"));
+        assertThrows(ParseException.class, () -> Json.fromJsonLazy("-1.5e"));
+        assertEquals(-1.5, Json.fromJsonLazy(" -1.5 "));
+    }
+
+    @Test
+    void fromJsonLazyScalarsMatchParser() {
+        String json =
+                "[0, -0, 7, -42, 123456789012345678, 1234567890123456789, 12345678901234567890,"
+                        + " 1.5, -2.25, 1.50, 1e3, 2E-2, 123.456789012, 0.1, \"\", \"plain\","
+                        + " \"tab\\tq\\\"\", \"\\u0041\", true, false, null]";
+        List<Object> lazy = U.fromJsonLazy(json);
+        List<Object> eager = U.fromJson(json);
+        for (int index = 0; index < eager.size(); index++) {
+            Object value = lazy.get(index);
+            assertEquals(eager.get(index), value);
+            assertEquals(
+                    eager.get(index) == null ? null : eager.get(index).getClass(),
+                    value == null ? null : value.getClass());
+        }
+        for (String invalid :
+                new String[] {"[01]", "[-]", "[1.]", "[1e+]", "[.5]", "[nul]", "[truex]", "[\"a\tb\"]"}) {
+            List<?> deferred = (List<?>) Json.fromJsonLazy(invalid);
+            assertThrows(ParseException.class, () -> deferred.get(0));
+        }
+    }
+}
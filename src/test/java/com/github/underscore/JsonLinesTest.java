@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.JsonLinesReader;
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class JsonLinesTest {
+
+    @Test
+    void jsonLines() throws IOException {
+        String lines = "{\"a\":1}\r\n\n  \n[true,\"\u00e9\"]\nnull\n\"tail\"";
+        JsonLinesReader reader =
+                new JsonLinesReader(
+                        new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)), 2, 10);
+        assertTrue(reader.hasNext());
+        assertEquals(Map.of("a", 1L), reader.next());
+        assertEquals(asList(true, "\u00e9"), reader.next());
+        assertNull(reader.next());
+        assertEquals("tail", reader.next());
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+        reader.close();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("b", "x\ny");
+        map.put("c", asList(1, 2));
+        Json.writeJsonLines(asList(map, "\u00e9", null), output);
+        assertEquals(
+                "{\"b\":\"x\\ny\",\"c\":[1,2]}\n\"\u00e9\"\nnull\n",
+                output.toString(StandardCharsets.UTF_8));
+        try (Stream<Object> stream =
+                Json.readJsonLines(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(3L, stream.count());
+        }
+    }
+
+    @Test
+    void jsonLinesParallel() {
+        StringBuilder builder = new StringBuilder();
+        List<Object> expected = new ArrayList<>();
+        for (int index = 0; index < 1000; index++) {
+            builder.append("{\"id\":").append(index).append("}\n");
+            expected.add(Map.of("id", (long) index));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (Stream<Object> stream =
+                Json.readJsonLines(
+                        new ByteArrayInputStream(
+                                builder.toString().getBytes(StandardCharsets.UTF_8)),
+                        executor,
+                        7)) {
+            assertEquals(expected, stream.collect(Collectors.toList()));
+        }
+        try (Stream<Object> stream =
+                Json.readJsonLines(
+                        new ByteArrayInputStream("{}\n{\n".getBytes(StandardCharsets.UTF_8)),
+                        executor,
+                        1)) {
+            assertThrows(ParseException.class, stream::count);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.DoubleList;
+import com.github.underscore.Json.JsonStringBuilder;
+import com.github.underscore.Json.KeyCache;
+import com.github.underscore.Json.LongList;
+import com.github.underscore.Json.ParseException;
+import com.github.underscore.Json.ParseOptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class JsonParseOptionsTest {
+
+    @Test
+    void fromJsonIterative() throws IOException {
+        String json =
+                "{\"a\": [1, {\"b\": []}, [[], {}], \"s\"], \"c\": {\"d\": {\"e\": null}},"
+                        + " \"f\": 1.5}";
+        assertEquals(U.fromJson(json), Json.fromJsonIterative(json));
+        assertEquals(U.fromJson("[]"), Json.fromJsonIterative(" [ ] "));
+        assertEquals("text", Json.fromJsonIterative("\"text\""));
+        String stringJson =
+                new String(
+                        Files.readAllBytes(Paths.get("src/test/resources/wellFormedObject.json")));
+        Object result = Json.fromJsonIterative(stringJson);
+        int depth = 0;
+        while (result instanceof Map) {
+            result = ((Map) result).get("a");
+            depth += 1;
+        }
+        assertTrue(depth > 1000);
+        String arrayJson =
+                new String(
+                        Files.readAllBytes(Paths.get("src/test/resources/wellFormedArray.json")));
+        assertInstanceOf(List.class, Json.fromJsonIterative(arrayJson));
+        assertThrows(ParseException.class, () -> Json.fromJsonIterative(stringJson, 1000));
+        ParseException exception =
+                assertThrows(ParseException.class, () -> Json.fromJsonIterative("{\"a\": 1,}"));
+        assertEquals("Expected name at 1:8", exception.getMessage());
+        assertThrows(ParseException.class, () -> Json.fromJsonIterative("[1 2]"));
+        assertThrows(ParseException.class, () -> Json.fromJsonIterative("{\"a\" 1}"));
+        assertThrows(ParseException.class, () -> Json.fromJsonIterative("{\"a\": 1]"));
+        assertThrows(ParseException.class, () -> Json.fromJsonIterative("[1] 2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fromJsonWithInternedKeys() {
+        String json = "[{\"id\": 1, \"na\\u006De\": \"a\"}, {\"id\": 2, \"name\": \"b\"}]";
+        List<Map<String, Object>> result = U.fromJson(json, new ParseOptions().internKeys(true));
+        assertEquals(U.fromJson(json), result);
+        List<String> firstKeys = new ArrayList<>(result.get(0).keySet());
+        List<String> secondKeys = new ArrayList<>(result.get(1).keySet());
+        assertTrue(firstKeys.get(0) == secondKeys.get(0));
+        assertTrue(firstKeys.get(1) == secondKeys.get(1));
+        List<Map<String, Object>> plain = U.fromJson(json);
+        assertFalse(
+                new ArrayList<>(plain.get(0).keySet()).get(0)
+                        == new ArrayList<>(plain.get(1).keySet()).get(0));
+        KeyCache keyCache = new KeyCache(16);
+        ParseOptions options = new ParseOptions().keyCache(keyCache).iterative(true);
+        Map<String, Object> first = U.fromJson("{\"key\": 1}", options);
+        Map<String, Object> second = U.fromJson("{\"key\": 2}", options);
+        assertTrue(first.keySet().iterator().next() == second.keySet().iterator().next());
+        assertEquals("key", keyCache.intern("key"));
+        assertEquals(10, new ParseOptions().maxDepth(10).getMaxDepth());
+        assertThrows(
+                ParseException.class,
+                () -> Json.fromJson("[[[1]]]", new ParseOptions().maxDepth(1)));
+    }
+
+    @Test
+    void fromJsonNumbers() {
+        List<String> numbers =
+                asList(
+                        "0", "-0", "7", "-12", "1234567890123456789", "9223372036854775807",
+                        "-9223372036854775807", "-9223372036854775808", "12345678901234567890",
+                        "0.5", "-0.0", "0.05", "1.25", "-3.75", "12.8", "1.10", "1.0", "1.5e0",
+                        "1e5", "2E-3", "1.5e+2", "1e300", "4.9e-324", "123456.78", "1234567.89",
+                        "0.1234567", "3.000000001", "-1.23456789e5");
+        for (String number : numbers) {
+            Object expected = Json.createNumber(number);
+            Object actual = Json.fromJson(number);
+            assertEquals(expected, actual, number);
+            assertEquals(expected.getClass(), actual.getClass(), number);
+            assertEquals(expected, ((List) Json.fromJson("[" + number + "]")).get(0), number);
+        }
+        assertEquals("-0.0", String.valueOf(Json.fromJson("-0.0")));
+        Random random = new Random(42);
+        for (int index = 0; index < 1000; index++) {
+            String number = String.valueOf(random.nextInt(100000) / 1000.0);
+            assertEquals(Double.valueOf(number), Json.fromJson(number), number);
+        }
+        assertThrows(ParseException.class, () -> Json.fromJson("-"));
+        assertThrows(ParseException.class, () -> Json.fromJson("1."));
+        assertThrows(ParseException.class, () -> Json.fromJson("1e"));
+        assertThrows(ParseException.class, () -> Json.fromJson("01"));
+    }
+
+    @Test
+    void fromJsonWithPrimitiveArrays() {
+        ParseOptions options = new ParseOptions().primitiveArrays(true);
+        String json =
+                "{\"longs\": [1, -2, 3, 4, 5, 6, 7, 8, 9, 10], \"doubles\": [1.5, -2.25, 1e3],"
+                        + " \"mixed\": [1, 2.5], \"strings\": [1, \"a\"], \"big\": [1.10, 2],"
+                        + " \"nested\": [[1, 2], [3.5]], \"empty\": [], \"other\": [\"x\", 1]}";
+        Map<String, Object> result = U.fromJson(json, options);
+        assertEquals(U.fromJson(json), result);
+        assertInstanceOf(LongList.class, result.get("longs"));
+        assertInstanceOf(DoubleList.class, result.get("doubles"));
+        assertInstanceOf(ArrayList.class, result.get("mixed"));
+        assertInstanceOf(ArrayList.class, result.get("strings"));
+        assertInstanceOf(ArrayList.class, result.get("big"));
+        assertInstanceOf(LongList.class, U.get(result, "nested.0"));
+        assertInstanceOf(DoubleList.class, U.get(result, "nested.1"));
+        LongList longs = (LongList) result.get("longs");
+        assertEquals(-2L, longs.getLong(1));
+        assertEquals(10, longs.toLongArray().length);
+        assertEquals(3L, longs.set(2, 30L));
+        assertEquals(30L, (Long) U.get(result, "longs[2]"));
+        DoubleList doubles = (DoubleList) result.get("doubles");
+        assertEquals(1000.0, doubles.getDouble(2));
+        assertEquals(1.5, doubles.set(0, 0.5));
+        assertEquals(3, doubles.toDoubleArray().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> longs.get(10));
+        assertThrows(IndexOutOfBoundsException.class, () -> doubles.getDouble(-1));
+        assertEquals(
+                "[1,2,3]",
+                Json.toJson(new LongList(new long[] {1, 2, 3}), JsonStringBuilder.Step.COMPACT));
+        assertEquals(
+                "[2.5]",
+                Json.toJson(new DoubleList(new double[] {2.5}), JsonStringBuilder.Step.COMPACT));
+        Map<String, Object> iterative = U.fromJson(json, options.iterative(true));
+        assertEquals(U.fromJson(json), iterative);
+        assertInstanceOf(LongList.class, U.get(iterative, "nested.0"));
+        assertInstanceOf(LongList.class, Json.fromJson("[1]", options));
+        assertThrows(ParseException.class, () -> Json.fromJson("[1 2]", options));
+        assertThrows(ParseException.class, () -> Json.fromJson("[1, 2.5 3]", options));
+        assertThrows(
+                ParseException.class,
+                () -> Json.fromJson("[[1]]", new ParseOptions().primitiveArrays(true).maxDepth(1)));
+    }
+
+    @Test
+    void fromJsonIterativeWithPrimitiveArraysIsStackSafe() throws InterruptedException {
+        final int depth = 9_000;
+        final String json =
+                "[1, 2.5, [3, " + "[4,".repeat(depth) + "[\"x\"]" + "]".repeat(depth) + "]]";
+        final ParseOptions options =
+                new ParseOptions().iterative(true).primitiveArrays(true).maxDepth(2 * depth);
+        final Object[] result = new Object[1];
+        final Throwable[] thrown = new Throwable[1];
+        Thread thread =
+                new Thread(
+                        null,
+                        () -> {
+                            try {
+                                result[0] = Json.fromJson(json, options);
+                            } catch (Throwable ex) {
+                                thrown[0] = ex;
+                            }
+                        },
+                        "shallow-stack",
+                        1L << 18);
+        thread.start();
+        thread.join();
+        assertNull(thrown[0], String.valueOf(thrown[0]));
+        List<Object> list = (List<Object>) result[0];
+        assertEquals(asList(1L, 2.5), list.subList(0, 2));
+        list = (List<Object>) list.get(2);
+        assertEquals(3L, list.get(0));
+        for (int level = 0; level < depth; level++) {
+            list = (List<Object>) list.get(1);
+            assertEquals(4L, list.get(0));
+            assertEquals(2, list.size());
+        }
+        assertEquals(asList("x"), list.get(1));
+        assertEquals(
+                U.fromJson("[1, [2, \"a\", 3.5], [1.5, 2]]"),
+                Json.fromJson("[1, [2, \"a\", 3.5], [1.5, 2]]", options));
+        assertThrows(ParseException.class, () -> Json.fromJson("[1, 2.5, ]", options));
+        assertThrows(ParseException.class, () -> Json.fromJson("[1, 1e400 2]", options));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.underscore.Json.JsonReader;
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class JsonReaderTest {
+
+    @Test
+    void jsonReaderTokens() throws IOException {
+        String json =
+                "{\"a\": [1, -2.5, \"x\\u0041\\ny\"], \"b\": {\"c\": true, \"d\": null},"
+                        + " \"e\": false}";
+        List<JsonReader.Token> tokens = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(json), 4)) {
+            JsonReader.Token token;
+            while ((token = reader.nextToken()) != null) {
+                tokens.add(token);
+                texts.add(reader.getText());
+            }
+        }
+        assertEquals(
+                "[START_OBJECT, FIELD_NAME, START_ARRAY, VALUE_NUMBER, VALUE_NUMBER, VALUE_STRING,"
+                        + " END_ARRAY, FIELD_NAME, START_OBJECT, FIELD_NAME, VALUE_TRUE, FIELD_NAME,"
+                        + " VALUE_NULL, END_OBJECT, FIELD_NAME, VALUE_FALSE, END_OBJECT]",
+                tokens.toString());
+        assertEquals("-2.5", texts.get(4));
+        assertEquals("xA\ny", texts.get(5));
+        JsonReader reader =
+                new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(JsonReader.Token.START_OBJECT, reader.nextToken());
+        assertEquals(JsonReader.Token.FIELD_NAME, reader.nextToken());
+        assertEquals(JsonReader.Token.START_ARRAY, reader.nextToken());
+        assertEquals(JsonReader.Token.VALUE_NUMBER, reader.nextToken());
+        assertEquals(1L, reader.getNumber());
+        reader.nextToken();
+        assertEquals(-2.5, reader.getValue());
+        reader.nextToken();
+        reader.nextToken();
+        assertEquals(JsonReader.Token.FIELD_NAME, reader.nextToken());
+        assertEquals("b", reader.getText());
+        reader.nextToken();
+        assertEquals("{c=true, d=null}", reader.readValue().toString());
+        assertEquals(1, reader.getDepth());
+        reader.nextToken();
+        assertEquals(JsonReader.Token.VALUE_FALSE, reader.nextToken());
+        assertEquals(JsonReader.Token.END_OBJECT, reader.nextToken());
+        assertNull(reader.nextToken());
+        JsonReader reader2 = new JsonReader(new StringReader(json), 3);
+        reader2.nextToken();
+        assertEquals(U.fromJson(json), reader2.readValue());
+        JsonReader reader3 = new JsonReader(new StringReader("[1,]"));
+        reader3.nextToken();
+        reader3.nextToken();
+        ParseException exception = assertThrows(ParseException.class, reader3::nextToken);
+        assertEquals("Expected value at 1:3", exception.getMessage());
+        JsonReader reader4 = new JsonReader(new StringReader("{} {}"));
+        reader4.nextToken();
+        reader4.nextToken();
+        assertThrows(ParseException.class, reader4::nextToken);
+    }
+}
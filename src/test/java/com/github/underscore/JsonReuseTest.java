@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.JsonParser;
+import com.github.underscore.Json.JsonStringBuilder;
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+class JsonReuseTest {
+
+    public static class Nested {
+        public String getInner() {
+            return Json.toJson(Map.of("a", 1), JsonStringBuilder.Step.COMPACT);
+        }
+    }
+
+    @Test
+    void reusableParserAndBuilder() {
+        JsonParser parser = new JsonParser("", 10);
+        assertEquals(Map.of("a", "b\nc"), parser.parse("{\"a\":\"b\\nc\"}"));
+        assertEquals(asList(1L, "x"), parser.parse("[1,\"x\"]"));
+        assertThrows(ParseException.class, () -> parser.parse("[1,"));
+        String large = "y".repeat(100_000);
+        assertEquals(
+                "\"" + large + "\\n\"",
+                Json.toJson((Object) (large + "\n"), JsonStringBuilder.Step.COMPACT));
+        assertEquals(large + "\n", parser.parse("\"" + large + "\\n\""));
+        assertEquals(Map.of(), parser.parse("{}"));
+        JsonStringBuilder builder = new JsonStringBuilder(JsonStringBuilder.Step.FOUR_SPACES);
+        builder.incIndent().append("x");
+        builder.reset(JsonStringBuilder.Step.TABS).incIndent().fillSpaces();
+        assertEquals("\t", builder.toString());
+        assertEquals(JsonStringBuilder.Step.TABS, builder.reset().getIdentStep());
+        assertEquals("", builder.toString());
+        assertEquals(
+                "{\"inner\":\"{\\\"a\\\":1}\"}",
+                Json.toJson((Object) new Nested(), JsonStringBuilder.Step.COMPACT));
+        assertEquals("[\n  1\n]", Json.toJson(asList(1)));
+        assertEquals(Map.of("k", 1L), Json.fromJson("{\"k\":1}"));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.ParseException;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class JsonSelectedTest {
+
+    @Test
+    void fromJsonSelected() {
+        String json =
+                "{\"id\":7,\"order\":{\"note\":\"a \\\"]}\\\" b\",\"items\":["
+                        + "{\"sku\":\"x1\",\"qty\":2,\"tags\":[{\"a\":[1,2]}]},"
+                        + "{\"qty\":3},{\"sku\":\"x3\",\"price\":1.5}]},\"extra\":[[[]]]}";
+        Map<String, Object> result = U.fromJsonSelected(json, "$.order.items[*].sku");
+        assertEquals(
+                "{\"order\":{\"items\":[{\"sku\":\"x1\"},{},{\"sku\":\"x3\"}]}}",
+                U.toJson(result).replaceAll("\\s", ""));
+        assertEquals("x3", U.get(result, "order.items[2].sku"));
+        Map<String, Object> indexed =
+                U.fromJsonSelected(json, "order.items[2].price", "order.items[0].tags", "id");
+        assertEquals(7L, indexed.get("id"));
+        assertNull(U.get(indexed, "order.items[1]"));
+        assertEquals(1.5, U.<Object>get(indexed, "order.items[2].price"));
+        assertEquals(asList(Map.of("a", asList(1L, 2L))), U.get(indexed, "order.items[0].tags"));
+        Map<String, Object> merged = U.fromJsonSelected(json, "order.items[*].qty", "order.items[1]");
+        assertEquals(Map.of("qty", 3L), U.get(merged, "order.items[1]"));
+        assertEquals(2L, U.<Object>get(merged, "order.items[0].qty"));
+        assertEquals(Map.of(), U.fromJsonSelected(json, "id.value"));
+        assertEquals(Json.fromJson(json), Json.fromJsonSelected(json, List.of(List.of("$"))));
+        assertNull(U.fromJsonSelected("1", "a"));
+        assertThrows(ParseException.class, () -> U.fromJsonSelected("{\"a\":[1,", "b"));
+        assertThrows(ParseException.class, () -> U.fromJsonSelected("{\"a\":\"1", "b"));
+        assertThrows(ParseException.class, () -> U.fromJsonSelected("{\"a\":1} x", "b"));
+        assertThrows(ParseException.class, () -> U.fromJsonSelected("{\"a\":[1,2}, \"b\":1}", "b"));
+        assertThrows(ParseException.class, () -> U.fromJsonSelected("{\"a\":{\"c\":[]]}", "b"));
+        assertEquals(
+                Map.of("b", 1L),
+                Json.fromJsonSelected(
+                        "{\"a\":[1e400,-0.5E+3,{\"x\":[{}]}],\"b\":1}", asList(asList("b"))));
+    }
+}
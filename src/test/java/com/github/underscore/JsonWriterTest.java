@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Json.JsonByteWriter;
+import com.github.underscore.Json.JsonStringBuilder;
+import com.github.underscore.Json.JsonValue;
+import com.github.underscore.Json.JsonWriter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+class JsonWriterTest {
+
+    @Test
+    void jsonWriter() throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "\u00e9\"x\"");
+        map.put("list", asList(1, 2.5, null, true));
+        map.put("nested", Map.of("a", "b"));
+        StringWriter writer = new StringWriter();
+        Json.writeJson(map, writer, JsonStringBuilder.Step.TWO_SPACES);
+        assertEquals(U.toJson(map), writer.toString());
+        StringBuilder appendable = new StringBuilder();
+        JsonWriter jsonWriter = new JsonWriter(appendable, JsonStringBuilder.Step.COMPACT, 4);
+        JsonValue.writeJson(map, jsonWriter);
+        assertTrue(appendable.length() > 0);
+        jsonWriter.close();
+        assertEquals(Json.toJson(map, JsonStringBuilder.Step.COMPACT), appendable.toString());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Json.writeJson(asList("\u00e9", 1), output, JsonStringBuilder.Step.COMPACT);
+        assertEquals("[\"\u00e9\",1]", output.toString(StandardCharsets.UTF_8));
+        JsonWriter failing =
+                new JsonWriter(
+                        new Writer() {
+                            @Override
+                            public void write(char[] chars, int offset, int length)
+                                    throws IOException {
+                                throw new IOException("closed");
+                            }
+
+                            @Override
+                            public void flush() {}
+
+                            @Override
+                            public void close() {}
+                        },
+                        JsonStringBuilder.Step.COMPACT,
+                        1024);
+        failing.append("x");
+        assertThrows(IOException.class, failing::flush);
+    }
+
+    @Test
+    void toJsonBytes() throws IOException {
+        String emoji = new String(Character.toChars(0x1F600));
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("ascii", "plain");
+        map.put("latin", "\u00e9\u00df");
+        map.put("cjk", "\u4e2d\u6587");
+        map.put("emoji", emoji);
+        for (int size = 2040; size < 2056; size++) {
+            map.put("boundary" + size, "a".repeat(size) + emoji + "\u00e9");
+        }
+        map.put("lone", "x\ud800y");
+        String expected = Json.toJson(map, JsonStringBuilder.Step.COMPACT);
+        assertTrue(
+                Arrays.equals(
+                        expected.getBytes(StandardCharsets.UTF_8),
+                        Json.toJsonBytes(map, JsonStringBuilder.Step.COMPACT)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonByteWriter writer =
+                new JsonByteWriter(output, JsonStringBuilder.Step.TWO_SPACES, 4)) {
+            JsonValue.writeJson(map, writer);
+        }
+        assertTrue(
+                Arrays.equals(
+                        Json.toJson(map).getBytes(StandardCharsets.UTF_8), output.toByteArray()));
+        JsonByteWriter writer = new JsonByteWriter();
+        writer.append("\u00e9").append(emoji.substring(0, 1));
+        assertEquals("\u00e9?", writer.toString());
+        writer.reset();
+        assertEquals(0, writer.toByteBuffer().remaining());
+        assertEquals(
+                "[1]",
+                new String(
+                        Json.toJsonBytes(asList(1), JsonStringBuilder.Step.COMPACT),
+                        StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void toJsonFloatingPoint() {
+        double[] doubles = {
+            0.0, -0.0, 1.0, -2.5, 0.001, 9.99e-4, 1234567.125, 9999999.999, 1e7, 0.1 + 0.2,
+            Math.PI, 123.456, 1e-300, Double.MAX_VALUE, Double.MIN_VALUE, 100.0, 0.30000000000000004
+        };
+        Random random = new Random(7);
+        for (int index = 0; index < 20_000; index++) {
+            double value = random.nextInt(10_000_000) / Math.pow(10, random.nextInt(9));
+            assertEquals(
+                    Double.toString(value), Json.toJson((Object) value, JsonStringBuilder.Step.COMPACT));
+            assertEquals(
+                    Float.toString((float) value),
+                    Json.toJson((Object) (float) value, JsonStringBuilder.Step.COMPACT));
+        }
+        for (double value : doubles) {
+            assertEquals(
+                    Double.toString(value), Json.toJson((Object) value, JsonStringBuilder.Step.COMPACT));
+            if (!Float.isInfinite((float) value)) {
+                assertEquals(
+                        Float.toString((float) value),
+                        Json.toJson((Object) (float) value, JsonStringBuilder.Step.COMPACT));
+            }
+        }
+        assertEquals(
+                "[1.5,NaN,0.001]",
+                Json.toJson(
+                        (Object) new double[] {1.5, Double.NaN, 0.001},
+                        JsonStringBuilder.Step.COMPACT));
+        assertEquals(
+                "[1.5,0.1]",
+                Json.toJson((Object) new float[] {1.5f, 0.1f}, JsonStringBuilder.Step.COMPACT));
+        assertEquals("null", Json.toJson((Object) Double.NaN));
+        assertEquals("null", Json.toJson((Object) Float.POSITIVE_INFINITY));
+    }
+}
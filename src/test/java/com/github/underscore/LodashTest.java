@@ -500,6 +500,57 @@ class LodashTest {
         assertThrows(IllegalArgumentException.class, () -> U.selectToken(objectMap, "\\"));
     }
 
+    @Test
+    void selectTokenWithCustomDocumentBuilderFactory() {
+        final int[] builders = {0};
+        final javax.xml.parsers.DocumentBuilderFactory delegate =
+                javax.xml.parsers.DocumentBuilderFactory.newInstance();
+        delegate.setNamespaceAware(true);
+        final javax.xml.parsers.DocumentBuilderFactory factory =
+                new javax.xml.parsers.DocumentBuilderFactory() {
+                    @Override
+                    public javax.xml.parsers.DocumentBuilder newDocumentBuilder()
+                            throws javax.xml.parsers.ParserConfigurationException {
+                        builders[0] += 1;
+                        return delegate.newDocumentBuilder();
+                    }
+
+                    @Override
+                    public void setAttribute(String name, Object value) {
+                        delegate.setAttribute(name, value);
+                    }
+
+                    @Override
+                    public Object getAttribute(String name) {
+                        return delegate.getAttribute(name);
+                    }
+
+                    @Override
+                    public void setFeature(String name, boolean value)
+                            throws javax.xml.parsers.ParserConfigurationException {
+                        delegate.setFeature(name, value);
+                    }
+
+                    @Override
+                    public boolean getFeature(String name)
+                            throws javax.xml.parsers.ParserConfigurationException {
+                        return delegate.getFeature(name);
+                    }
+                };
+        Map<String, Object> objectMap = U.fromJsonMap("{\"a\":{\"b\":[\"1\",\"2\"]}}");
+        assertEquals("1", U.selectToken(objectMap, "//b/text()", factory));
+        assertEquals(asList("1", "2"), U.selectTokens(objectMap, "//b/text()", factory));
+        assertEquals("2", U.selectToken(objectMap, "//b[2]/text()", factory));
+        assertEquals(1, builders[0]);
+        assertEquals("1", U.selectToken(objectMap, "//b/text()"));
+        assertEquals(asList("1", "2"), U.selectTokens(objectMap, "//b/text()"));
+        assertEquals(1, builders[0]);
+        assertEquals(
+                "a",
+                XmlBuilder.create("a").getDocument(factory).getDocumentElement().getNodeName());
+        assertEquals(2, builders[0]);
+    }
+
     @Test
     void selectTokenManufacturerWithName() {
         String json =
@@ -588,6 +588,12 @@ class StringTest {
         assertEquals("\\u20FF", Json.JsonValue.escape("\u20FF"));
         assertEquals("\u2100", Json.JsonValue.escape("\u2100"));
         assertEquals("\uFFFF", Json.JsonValue.escape("\uFFFF"));
+        String plain = "plain text";
+        assertTrue(plain == Json.JsonValue.escape(plain));
+        assertEquals("a\\\"b\\nc\\u2001d€", Json.JsonValue.escape("a\"b\nc\u2001d€"));
+        assertEquals(
+                "{\"k\\t\":\"v\\\\\"}",
+                Json.toJson(Map.of("k\t", "v\\"), JsonStringBuilder.Step.COMPACT));
     }
 
     @Test
@@ -3598,8 +3604,8 @@ class StringTest {
         IllegalArgumentException illegalArgumentException =
                 assertThrows(IllegalArgumentException.class, () -> U.fromXmlMap(stringXml));
         assertEquals(
-                "org.xml.sax.SAXParseException; lineNumber: 1; columnNumber: 1;"
-                        + " Content is not allowed in prolog.",
+                "javax.xml.stream.XMLStreamException: ParseError at [row,col]:[1,1]\n"
+                        + "Message: Content is not allowed in prolog.",
                 illegalArgumentException.getMessage());
     }
 
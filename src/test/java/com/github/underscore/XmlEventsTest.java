@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static java.util.Arrays.asList;
+
+import com.github.underscore.Xml.XmlEventHandler;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class XmlEventsTest {
+
+    @Test
+    void readXmlEvents() {
+        String xml =
+                "<?xml version=\"1.0\"?><orders xmlns:n=\"urn:n\"><!--c-->"
+                        + "<order id=\"1\" n:state=\"new\"><total>2.5</total></order>\n"
+                        + "<order id=\"2\"><total>4</total><![CDATA[x]]><?pi data?></order>"
+                        + "<empty/></orders>";
+        final List<String> events = new ArrayList<>();
+        final double[] sum = {0};
+        Xml.readXmlEvents(
+                xml,
+                new XmlEventHandler() {
+                    private boolean inTotal;
+
+                    @Override
+                    public void startElement(String name, Map<String, String> attributes) {
+                        inTotal = "total".equals(name);
+                        events.add("<" + name + (attributes.isEmpty() ? "" : attributes));
+                    }
+
+                    @Override
+                    public void endElement(String name) {
+                        inTotal = false;
+                        events.add("/" + name);
+                    }
+
+                    @Override
+                    public void text(String text) {
+                        if (inTotal) {
+                            sum[0] += Double.parseDouble(text);
+                        }
+                        events.add("t:" + text.trim());
+                    }
+
+                    @Override
+                    public void comment(String comment) {
+                        events.add("c:" + comment);
+                    }
+
+                    @Override
+                    public void cdata(String cdata) {
+                        events.add("d:" + cdata);
+                    }
+
+                    @Override
+                    public void processingInstruction(String target, String data) {
+                        events.add("?" + target + " " + data);
+                    }
+                });
+        assertEquals(6.5, sum[0], 0.0);
+        assertEquals(
+                Arrays.asList(
+                        "<orders{xmlns:n=urn:n}",
+                        "c:c",
+                        "<order{id=1, n:state=new}",
+                        "<total",
+                        "t:2.5",
+                        "/total",
+                        "/order",
+                        "t:",
+                        "<order{id=2}",
+                        "<total",
+                        "t:4",
+                        "/total",
+                        "d:x",
+                        "?pi data",
+                        "/order",
+                        "<empty",
+                        "/empty",
+                        "/orders"),
+                events);
+        Xml.readXmlEvents(new StringReader("<a>b</a>"), new XmlEventHandler() {});
+        final List<String> lookups = new ArrayList<>();
+        Xml.readXmlEvents(
+                "<!DOCTYPE a [<!ENTITY e 'v'>]><a x=\"1\" p:y=\"2\" xmlns:p=\"urn:p\">&e;<b/></a>",
+                new XmlEventHandler() {
+                    @Override
+                    public void startElement(String name, Map<String, String> attributes) {
+                        lookups.add(name + ":" + attributes.get("p:y") + attributes.containsKey("x"));
+                        assertThrows(
+                                UnsupportedOperationException.class,
+                                () -> attributes.put("z", "3"));
+                        if ("a".equals(name)) {
+                            assertEquals(
+                                    Map.of("xmlns:p", "urn:p", "x", "1", "p:y", "2"),
+                                    new LinkedHashMap<>(attributes));
+                        }
+                    }
+
+                    @Override
+                    public void text(String text) {
+                        lookups.add("t:" + text);
+                    }
+                });
+        assertEquals(asList("a:2true", "t:v", "b:nullfalse"), lookups);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Xml.readXmlEvents("<a>", new XmlEventHandler() {}));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class XmlParsingTest {
+
+    @Test
+    void fromXmlMixedContent() {
+        String xml =
+                "<!DOCTYPE a [<!ENTITY e \"EE\">]>\n<?pi data?>\n"
+                        + "<a x:y=\"1\" xmlns:x=\"u\">t&amp;&e;<!--c--> <b/>\n"
+                        + "  <![CDATA[d]]><c> </c></a>";
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("!DOCTYPE", "a [<!ENTITY e \"EE\">]");
+        expected.put("?pi", "data");
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("-x:y", "1");
+        a.put("-xmlns:x", "u");
+        a.put("#text", "t&EE");
+        a.put("#comment", "c");
+        a.put("b", Map.of("-self-closing", "true"));
+        a.put("#cdata-section", "d");
+        a.put("c", " ");
+        expected.put("a", a);
+        expected.put("#omit-xml-declaration", "yes");
+        assertEquals(expected, U.fromXmlMap(xml));
+    }
+
+    @Test
+    void fromXmlExternalEntitiesResolveToEmptyContent() {
+        assertEquals(
+                "xy",
+                U.get(
+                        U.fromXmlMap(
+                                "<!DOCTYPE a [<!ENTITY e SYSTEM \"file:///etc/hostname\">]>"
+                                        + "<a>x&e;y</a>"),
+                        "a"));
+        assertEquals(
+                "1",
+                U.get(
+                        U.fromXmlMap(
+                                "<!DOCTYPE a SYSTEM \"http://example.invalid/a.dtd\"><a>1</a>"),
+                        "a"));
+    }
+
+    @Test
+    void fromXmlEntityExpandingToMarkup() {
+        Map<String, Object> a =
+                U.get(
+                        U.fromXmlMap(
+                                "<!DOCTYPE a [<!ENTITY e \"<b y='1'/>\">]>"
+                                        + "<a>&e;<c x='1'/><d/></a>"),
+                        "a");
+        assertEquals(Map.of("-y", "1"), a.get("b"));
+        assertEquals(Map.of("-x", "1", "-self-closing", "true"), a.get("c"));
+        assertEquals(Map.of("-self-closing", "true"), a.get("d"));
+    }
+
+    @Test
+    void fromXmlMarkupInsideInstructionAndComment() {
+        String xml =
+                "<a><?pi <b c='1'/> ?><!-- <b c='2'/> --><ab c=\"3\"/>"
+                        + "<![CDATA[<b c='4'/>]]><b c=\"5\"></b></a>";
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("?pi", "<b c='1'/> ");
+        a.put("#comment", " <b c='2'/> ");
+        a.put("ab", Map.of("-c", "3", "-self-closing", "true"));
+        a.put("#cdata-section", "<b c='4'/>");
+        a.put("b", Map.of("-c", "5"));
+        assertEquals(a, U.<Map<String, Object>>get(U.fromXmlMap(xml), "a"));
+    }
+
+    @Test
+    void fromXmlStartTagsFollowParserLocations() {
+        String xml =
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n"
+                        + "<!DOCTYPE a [<!ENTITY e \"<b y='1'/>\">]>\r"
+                        + "<a>&e;<b t='x'\r\n  u=\"2\"/>\r\r<c/></a>";
+        Map<String, Object> a = new LinkedHashMap<>();
+        a.put("b", List.of(Map.of("-y", "1"), Map.of("-t", "x", "-u", "2", "-self-closing", "true")));
+        a.put("c", Map.of("-self-closing", "true"));
+        assertEquals(a, U.<Map<String, Object>>get(U.fromXmlMap(xml), "a"));
+    }
+}
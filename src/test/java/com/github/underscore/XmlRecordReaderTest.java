@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright 2015-2026 Valentyn Kolesnikov <0009-0003-9608-3364@orcid.org>
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.github.underscore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.underscore.Xml.XmlRecordReader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class XmlRecordReaderTest {
+
+    @Test
+    void readXmlRecords() throws IOException {
+        String xml =
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                        + "<feed xmlns:n=\"urn:n\"><!-- <record/> -->\n"
+                        + "<record id=\"1\"><n:name>A &amp; B</n:name><empty/></record>\n"
+                        + "<other><record id=\"2\"/></other>\n"
+                        + "<record id=\"3\"><![CDATA[<record/>]]></record></feed>";
+        List<Map<String, Object>> records;
+        try (Stream<Map<String, Object>> stream =
+                U.readXmlRecords(
+                        new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)),
+                        "feed/record")) {
+            records = stream.collect(Collectors.toList());
+        }
+        assertEquals(2, records.size());
+        assertEquals(
+                "{record={-id=1, n:name=A & B, empty={-self-closing=true}},"
+                        + " #omit-xml-declaration=yes}",
+                records.get(0).toString());
+        assertEquals(
+                U.fromXmlMap("<record id=\"3\"><![CDATA[<record/>]]></record>"), records.get(1));
+        assertEquals(3, Xml.readXmlRecords(new StringReader(xml), "record").count());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new XmlRecordReader(new StringReader(xml), "/"));
+        Iterator<Map<String, Object>> entities =
+                new XmlRecordReader(
+                        new StringReader(
+                                "<!DOCTYPE feed [<!ENTITY e 'v'>]>"
+                                        + "<feed><record>&e;</record><record a=\"&e;\"/></feed>"),
+                        "feed/record");
+        assertEquals("{record=v, #omit-xml-declaration=yes}", entities.next().toString());
+        assertEquals(
+                "{record={-a=&e;, -self-closing=true}, #omit-xml-declaration=yes}",
+                entities.next().toString());
+        assertFalse(entities.hasNext());
+    }
+}